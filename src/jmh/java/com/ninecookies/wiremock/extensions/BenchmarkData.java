@@ -0,0 +1,75 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.Arrays;
+
+/**
+ * Generates the JSON templates and request bodies used by the benchmarks.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+final class BenchmarkData {
+
+    /**
+     * The number of distinct request properties path placeholders refer to.
+     */
+    static final int REQUEST_FIELDS = 50;
+
+    private static final String[] KEYWORDS = {
+            "$(!UUID.%d)", "$(!Random)", "$(!Random[10,100])", "$(!Instant)", "$(!Timestamp.plus[m%d])",
+            "$(!OffsetDateTime.plus[s-%d])" };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a JSON object template of roughly {@code size} bytes containing {@code placeholders} properties.
+     *
+     * @param size the approximate size of the template in bytes.
+     * @param placeholders the number of properties with a placeholder value.
+     * @param kind either {@code path} for JSON path placeholders referring to the request or {@code keyword} for
+     *            keyword placeholders.
+     * @return the JSON template.
+     */
+    static String template(int size, int placeholders, String kind) {
+        StringBuilder result = new StringBuilder(size + 64).append('{');
+        for (int i = 0; i < placeholders; i++) {
+            String placeholder = "keyword".equals(kind)
+                    ? String.format(KEYWORDS[i % KEYWORDS.length], i)
+                    : "$(request.field" + (i % REQUEST_FIELDS) + ")";
+            result.append("\"p").append(i).append("\":\"").append(placeholder).append("\",");
+        }
+        return pad(result, size).append('}').toString();
+    }
+
+    /**
+     * Creates a JSON request body of roughly {@code size} bytes providing the properties referred to by path
+     * placeholders.
+     *
+     * @param size the approximate size of the request body in bytes.
+     * @return the JSON request body.
+     */
+    static String requestBody(int size) {
+        StringBuilder result = new StringBuilder(size + 64).append('{');
+        for (int i = 0; i < REQUEST_FIELDS; i++) {
+            result.append("\"field").append(i).append("\":\"value-").append(i).append("\",");
+        }
+        return pad(result, size).append('}').toString();
+    }
+
+    private static StringBuilder pad(StringBuilder json, int size) {
+        // plain filler items without any placeholder to reach the desired size
+        json.append("\"filler\":[");
+        char[] item = new char[64];
+        Arrays.fill(item, 'x');
+        boolean first = true;
+        while (json.length() < size - item.length - 4) {
+            if (!first) {
+                json.append(',');
+            }
+            json.append('"').append(item).append('"');
+            first = false;
+        }
+        return json.append(']');
+    }
+}
@@ -0,0 +1,144 @@
+package com.ninecookies.wiremock.extensions;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.http.HttpHeader.httpHeader;
+import static com.ninecookies.wiremock.extensions.util.Maps.entry;
+import static com.ninecookies.wiremock.extensions.util.Maps.mapOf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.ninecookies.wiremock.extensions.api.Callback;
+import com.ninecookies.wiremock.extensions.api.Callbacks;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Measures the callback scheduling of {@link CallbackSimulator#doAction} and the round trip of HTTP callbacks to an
+ * in-process stub HTTP sink.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dwm.logging.level=warn")
+public class CallbackSimulatorBenchmark {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private HttpServer sink;
+    private CallbackSimulator simulator;
+    private ServeEvent serveEvent;
+    private Parameters parameters;
+
+    @Setup
+    public void setup() throws IOException {
+        sink = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        sink.createContext("/sink", this::receive);
+        sink.setExecutor(Executors.newFixedThreadPool(4));
+        sink.start();
+
+        String url = "http://localhost:" + sink.getAddress().getPort() + "/sink/$(urlParts[1])";
+        parameters = Parameters.of(Callbacks.of(Callback.of(0, url,
+                mapOf(entry("id", "$(response.id)"), entry("code", "$(request.code)"),
+                        entry("created", "$(!Instant)")))));
+        StubMapping stub = post(urlEqualTo("/benchmark/callback"))
+                .willReturn(aResponse().withStatus(201))
+                .withPostServeAction("callback-simulator", parameters)
+                .build();
+        HttpHeaders headers = new HttpHeaders(httpHeader("Content-Type", "application/json"));
+        LoggedRequest request = new LoggedRequest("/benchmark/callback", "http://localhost/benchmark/callback",
+                RequestMethod.POST, "127.0.0.1", headers, Collections.emptyMap(), false, new Date(),
+                "{\"code\":\"benchmark\"}".getBytes(StandardCharsets.UTF_8), null);
+        Response response = Response.response().status(201).headers(headers)
+                .body("{\"id\":\"b63868c0\"}").build();
+        serveEvent = ServeEvent.of(request, new ResponseDefinition(201, ""), stub).complete(response, 0);
+        simulator = new CallbackSimulator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sink.stop(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        // don't let callbacks scheduled by the previous iteration compete with the next one
+        awaitDelivered(scheduled.get());
+    }
+
+    /**
+     * Schedules a callback without waiting for its delivery.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void schedule() {
+        simulator.doAction(serveEvent, null, parameters);
+        scheduled.incrementAndGet();
+    }
+
+    /**
+     * Schedules a callback and waits until the stub HTTP sink received it.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void roundTrip() {
+        simulator.doAction(serveEvent, null, parameters);
+        awaitDelivered(scheduled.incrementAndGet());
+    }
+
+    private void awaitDelivered(long expected) {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (delivered.get() < expected && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(10_000);
+        }
+    }
+
+    private void receive(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            while (body.read() != -1) {
+                // consume the callback
+            }
+        }
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+        delivered.incrementAndGet();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ninecookies.wiremock.extensions;
+
+import static com.github.tomakehurst.wiremock.http.HttpHeader.httpHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+/**
+ * Measures the response transformation of {@link JsonBodyTransformer} by request body size and placeholder kind.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dwm.logging.level=warn")
+public class JsonBodyTransformerBenchmark {
+
+    private static final int TEMPLATE_SIZE = 4096;
+    private static final int PLACEHOLDERS = 20;
+
+    @Param({ "1024", "65536", "1048576" })
+    public int requestSize;
+
+    @Param({ "path", "keyword" })
+    public String kind;
+
+    private JsonBodyTransformer transformer;
+    private LoggedRequest request;
+    private Response response;
+
+    @Setup
+    public void setup() {
+        transformer = new JsonBodyTransformer();
+        HttpHeaders headers = new HttpHeaders(httpHeader("Content-Type", "application/json"));
+        request = new LoggedRequest("/benchmark/path", "http://localhost/benchmark/path", RequestMethod.POST,
+                "127.0.0.1", headers, Collections.emptyMap(), false, new Date(),
+                BenchmarkData.requestBody(requestSize).getBytes(StandardCharsets.UTF_8), null);
+        response = Response.response()
+                .status(200)
+                .headers(headers)
+                .body(BenchmarkData.template(TEMPLATE_SIZE, PLACEHOLDERS, kind))
+                .build();
+    }
+
+    @Benchmark
+    public Response transform() {
+        return transformer.transform(request, response, null, Parameters.empty());
+    }
+}
@@ -0,0 +1,72 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.ninecookies.wiremock.extensions.util.JsonTemplate;
+import com.ninecookies.wiremock.extensions.util.Placeholders;
+
+/**
+ * Measures the placeholder replacement of JSON templates by template size, placeholder count and placeholder kind.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dwm.logging.level=warn")
+public class JsonTemplateBenchmark {
+
+    @Param({ "1024", "65536", "1048576", "5242880" })
+    public int templateSize;
+
+    @Param({ "0", "10", "100", "500" })
+    public int placeholders;
+
+    @Param({ "path", "keyword" })
+    public String kind;
+
+    private String json;
+    private JsonTemplate template;
+    private DocumentContext placeholderSource;
+
+    @Setup
+    public void setup() {
+        json = BenchmarkData.template(templateSize, placeholders, kind);
+        template = JsonTemplate.of(json);
+        placeholderSource = Placeholders.documentContextOf("{\"request\":" + BenchmarkData.requestBody(1024) + "}");
+    }
+
+    /**
+     * Transforms the template string including the lookup of the compiled template.
+     */
+    @Benchmark
+    public String transformJson() {
+        return Placeholders.transformJson(placeholderSource, json);
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render(placeholderSource);
+    }
+
+    @Benchmark
+    public byte[] renderBytes() {
+        return template.renderBytes(placeholderSource);
+    }
+}
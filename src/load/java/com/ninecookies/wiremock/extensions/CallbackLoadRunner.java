@@ -0,0 +1,342 @@
+package com.ninecookies.wiremock.extensions;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.ninecookies.wiremock.extensions.util.Maps.entry;
+import static com.ninecookies.wiremock.extensions.util.Maps.mapOf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.elasticmq.rest.sqs.SQSRestServer;
+import org.elasticmq.rest.sqs.SQSRestServerBuilder;
+
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.AmazonSQSClientBuilder;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.ninecookies.wiremock.extensions.api.Callback;
+import com.ninecookies.wiremock.extensions.api.Callbacks;
+import com.ninecookies.wiremock.extensions.util.SystemUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Drives a WireMock server with the {@link CallbackSimulator} at a constant request rate and reports the callbacks
+ * delivered per second, the scheduling lateness percentiles, retries and dropped callbacks.
+ * <p>
+ * HTTP callbacks are received by an in-process HTTP sink and SQS callbacks are consumed from an embedded ElasticMQ.
+ * Options are passed as {@code key=value} arguments:
+ * <ul>
+ * <li>{@code type} either {@code http} or {@code sqs} - default {@code http}
+ * <li>{@code rate} the requests per second - default {@code 200}
+ * <li>{@code duration} the duration of the load in seconds - default {@code 30}
+ * <li>{@code warmup} the seconds of the load to exclude from the lateness - default {@code 5}
+ * <li>{@code delay} the callback delay in milliseconds - default {@code 100}
+ * <li>{@code failures} the percentage of HTTP callbacks whose first attempt fails - default {@code 0}
+ * <li>{@code drain} the seconds to wait for outstanding callbacks - default {@code 30}
+ * <li>{@code output} the directory to write the lateness distribution to - default {@code target/loadtest}
+ * </ul>
+ * The callback simulator itself is configured with the usual environment variables (see
+ * {@link CallbackConfiguration}).
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class CallbackLoadRunner {
+
+    private static final String QUEUE_NAME = "loadtest-queue";
+    private static final String STUB_URL = "/loadtest/callback";
+    private static final int SQS_PORT = 9061;
+    private static final int SENDER_THREADS = 32;
+
+    private final Map<String, String> options;
+    private final String type;
+    private final int rate;
+    private final int duration;
+    private final int delay;
+    private final int failures;
+    private final int drain;
+    private final CallbackRecorder recorder;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private CallbackLoadRunner(Map<String, String> options) {
+        this.options = options;
+        type = options.getOrDefault("type", "http").trim().toLowerCase();
+        if (!"http".equals(type) && !"sqs".equals(type)) {
+            throw new IllegalArgumentException("unknown callback type '" + type + "' - either 'http' or 'sqs'");
+        }
+        rate = intOption("rate", 200);
+        duration = intOption("duration", 30);
+        delay = intOption("delay", 100);
+        failures = "http".equals(type) ? intOption("failures", 0) : 0;
+        drain = intOption("drain", 30);
+        recorder = new CallbackRecorder(failures, (long) rate * intOption("warmup", 5));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("invalid option '" + arg + "' - expected key=value");
+            }
+            options.put(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+        new CallbackLoadRunner(options).run(System.out);
+        // the callback simulator doesn't provide a shutdown
+        System.exit(0);
+    }
+
+    private void run(PrintStream out) throws Exception {
+        setenvIfAbsent("AWS_REGION", "us-east-1");
+        setenvIfAbsent("AWS_SQS_ENDPOINT", "http://localhost:" + SQS_PORT);
+        setPropertyIfAbsent("aws.accessKeyId", "X");
+        setPropertyIfAbsent("aws.secretKey", "X");
+        if (failures > 0) {
+            setenvIfAbsent("MAX_RETRIES", "3");
+            setenvIfAbsent("RETRY_BACKOFF", "100");
+        }
+
+        SQSRestServer sqsServer = SQSRestServerBuilder.withInterface("localhost").withPort(SQS_PORT).start();
+        AmazonSQS sqsClient = AmazonSQSClientBuilder.standard()
+                .withEndpointConfiguration(new EndpointConfiguration("http://localhost:" + SQS_PORT, "us-east-1"))
+                .build();
+        String queueUrl = sqsClient.createQueue(QUEUE_NAME).getQueueUrl();
+        HttpServer sink = startSink();
+        WireMockServer wireMockServer = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .containerThreads(SENDER_THREADS + 8)
+                .extensions(new CallbackSimulator()));
+        wireMockServer.start();
+        wireMockServer.stubFor(post(urlEqualTo(STUB_URL))
+                .willReturn(aResponse().withStatus(201))
+                .withPostServeAction("callback-simulator", callbacks(sink)));
+
+        AtomicBoolean consuming = new AtomicBoolean(true);
+        ExecutorService consumers = Executors.newFixedThreadPool(4);
+        if ("sqs".equals(type)) {
+            for (int i = 0; i < 4; i++) {
+                consumers.execute(() -> consume(sqsClient, queueUrl, consuming));
+            }
+        }
+
+        out.printf("callback load test - type %s - rate %d/s - duration %ds - delay %dms - failures %d%%%n",
+                type, rate, duration, delay, failures);
+        out.printf("environment - %s%n", environment());
+        long start = System.currentTimeMillis();
+        drive(wireMockServer.port(), out);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(drain);
+        while (recorder.getDelivered() < accepted.get() && System.currentTimeMillis() < deadline) {
+            report(out, start);
+            Thread.sleep(1_000);
+        }
+
+        consuming.set(false);
+        consumers.shutdown();
+        consumers.awaitTermination(5, TimeUnit.SECONDS);
+        recorder.intervalLateness();
+        summarize(out, start);
+        wireMockServer.stop();
+        sink.stop(0);
+        sqsServer.stopAndWait();
+    }
+
+    private Callbacks callbacks(HttpServer sink) {
+        // the due time is computed by the load driver from the intended request time and the delay
+        Map<String, Object> data = mapOf(entry("seq", "$(request.seq)"), entry("due", "$(request.due)"));
+        if ("sqs".equals(type)) {
+            return Callbacks.of(Callback.ofQueueMessage(delay, QUEUE_NAME, data));
+        }
+        return Callbacks.of(Callback.of(delay, "http://localhost:" + sink.getAddress().getPort() + "/sink", data));
+    }
+
+    private void drive(int port, PrintStream out) throws InterruptedException, IOException {
+        long period = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = (long) rate * duration;
+        ScheduledExecutorService driver = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS);
+        try (CloseableHttpClient client = HttpClients.custom()
+                .setMaxConnTotal(SENDER_THREADS).setMaxConnPerRoute(SENDER_THREADS).build()) {
+            long startMillis = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            AtomicLong sequence = new AtomicLong();
+            driver.scheduleAtFixedRate(() -> {
+                long seq = sequence.getAndIncrement();
+                if (seq >= requests) {
+                    return;
+                }
+                // the intended rather than the actual send time avoids coordinated omission
+                long intended = startMillis + TimeUnit.NANOSECONDS.toMillis(seq * period);
+                senders.execute(() -> send(client, port, seq, intended + delay));
+            }, 0, period, TimeUnit.NANOSECONDS);
+            long end = startNanos + TimeUnit.SECONDS.toNanos(duration);
+            while (sequence.get() < requests && System.nanoTime() < end + TimeUnit.SECONDS.toNanos(drain)) {
+                report(out, startMillis);
+                Thread.sleep(1_000);
+            }
+            driver.shutdownNow();
+            senders.shutdown();
+            senders.awaitTermination(drain, TimeUnit.SECONDS);
+        }
+    }
+
+    private void send(CloseableHttpClient client, int port, long seq, long due) {
+        sent.incrementAndGet();
+        HttpPost request = new HttpPost("http://localhost:" + port + STUB_URL);
+        request.setEntity(new StringEntity("{\"seq\":" + seq + ",\"due\":" + due + "}",
+                ContentType.APPLICATION_JSON));
+        try (CloseableHttpResponse response = client.execute(request)) {
+            EntityUtils.consumeQuietly(response.getEntity());
+            if (response.getStatusLine().getStatusCode() == 201) {
+                accepted.incrementAndGet();
+            } else {
+                rejected.incrementAndGet();
+            }
+        } catch (IOException e) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    private HttpServer startSink() throws IOException {
+        HttpServer result = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        result.createContext("/sink", this::receive);
+        result.setExecutor(Executors.newFixedThreadPool(16));
+        result.start();
+        return result;
+    }
+
+    private void receive(HttpExchange exchange) throws IOException {
+        long receivedAt = System.currentTimeMillis();
+        String body;
+        try (InputStream content = exchange.getRequestBody()) {
+            body = readFully(content);
+        }
+        exchange.sendResponseHeaders(recorder.record(body, receivedAt) ? 204 : 503, -1);
+        exchange.close();
+    }
+
+    private void consume(AmazonSQS sqsClient, String queueUrl, AtomicBoolean consuming) {
+        ReceiveMessageRequest request = new ReceiveMessageRequest(queueUrl)
+                .withMaxNumberOfMessages(10)
+                .withWaitTimeSeconds(1);
+        while (consuming.get()) {
+            List<Message> messages = sqsClient.receiveMessage(request).getMessages();
+            long receivedAt = System.currentTimeMillis();
+            if (messages.isEmpty()) {
+                continue;
+            }
+            for (Message message : messages) {
+                recorder.record(message.getBody(), receivedAt);
+            }
+            sqsClient.deleteMessageBatch(queueUrl, messages.stream()
+                    .map(m -> new DeleteMessageBatchRequestEntry(m.getMessageId(), m.getReceiptHandle()))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private void report(PrintStream out, long start) {
+        Histogram interval = recorder.intervalLateness();
+        out.printf("%6.1fs - sent %d - delivered %d - retries %d - lateness ms p50 %d p99 %d max %d%n",
+                (System.currentTimeMillis() - start) / 1000.0, sent.get(), recorder.getDelivered(),
+                recorder.getRetries(), interval.getValueAtPercentile(50), interval.getValueAtPercentile(99),
+                interval.getMaxValue());
+    }
+
+    private void summarize(PrintStream out, long start) throws IOException {
+        Histogram total = recorder.getTotalLateness();
+        long elapsed = Math.max(1, recorder.getLastDelivery() - start);
+        out.println();
+        out.printf("requests   - sent %d - accepted %d - rejected %d%n", sent.get(), accepted.get(), rejected.get());
+        out.printf("callbacks  - delivered %d (%.1f/s) - retries %d - dropped %d - invalid %d%n",
+                recorder.getDelivered(), recorder.getDelivered() * 1000.0 / elapsed, recorder.getRetries(),
+                Math.max(0, accepted.get() - recorder.getDelivered()), recorder.getInvalid());
+        out.printf("lateness   - p50 %dms - p90 %dms - p99 %dms - p99.9 %dms - max %dms%n",
+                total.getValueAtPercentile(50), total.getValueAtPercentile(90), total.getValueAtPercentile(99),
+                total.getValueAtPercentile(99.9), total.getMaxValue());
+        out.println();
+        total.outputPercentileDistribution(out, 1.0);
+
+        File directory = new File(options.getOrDefault("output", "target/loadtest"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create output directory '" + directory + "'");
+        }
+        File file = new File(directory, String.format("lateness-%s-%d-%d.hgrm", type, rate, delay));
+        try (PrintStream hgrm = new PrintStream(file, StandardCharsets.UTF_8.name())) {
+            total.outputPercentileDistribution(hgrm, 1.0);
+        }
+        out.printf("%nlateness distribution written to '%s'%n", file);
+    }
+
+    private String environment() {
+        CallbackConfiguration config = CallbackConfiguration.getInstance();
+        return String.format("CALLBACK_SCHEDULER %s - CALLBACK_EXECUTOR %s - SCHEDULED_THREAD_POOL_SIZE %d - "
+                + "CALLBACK_TARGET_CONCURRENCY %d - MAX_RETRIES %d - RETRY_BACKOFF %d",
+                config.getCallbackScheduler(), config.getCallbackExecutor(), config.getCorePoolSize(),
+                config.getCallbackTargetConcurrency(), config.getMaxRetries(), config.getRetryBackoff());
+    }
+
+    private int intOption(String key, int defaultValue) {
+        String value = options.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        int result = Integer.parseInt(value);
+        if (result < 0 || result == 0 && ("rate".equals(key) || "duration".equals(key))) {
+            throw new IllegalArgumentException("invalid option " + key + "=" + value);
+        }
+        return result;
+    }
+
+    private static String readFully(InputStream content) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        return new String(result.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void setenvIfAbsent(String key, String value) {
+        if (System.getenv(key) == null) {
+            SystemUtil.setenv(key, value);
+        }
+    }
+
+    private static void setPropertyIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.common.Json;
+
+/**
+ * Records the callbacks received during a load test along with the scheduling lateness of their first attempt.
+ * <p>
+ * Each callback carries its sequence number and the time in milliseconds it is due at, derived from the intended send
+ * time of its request so that a stalled load driver doesn't hide lateness. The lateness of callbacks sent during the
+ * warm-up isn't recorded.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+final class CallbackRecorder {
+
+    private static final long HIGHEST_LATENESS = 3_600_000L;
+
+    private final Recorder lateness = new Recorder(HIGHEST_LATENESS, 3);
+    private final Histogram total = new Histogram(HIGHEST_LATENESS, 3);
+    private final Map<Long, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final int failurePercentage;
+    private final long warmupRequests;
+    private volatile long lastDelivery;
+
+    CallbackRecorder(int failurePercentage, long warmupRequests) {
+        this.failurePercentage = failurePercentage;
+        this.warmupRequests = warmupRequests;
+    }
+
+    /**
+     * Records the specified callback {@code body} received at {@code receivedAt}.
+     *
+     * @param body the JSON body of the callback.
+     * @param receivedAt the time in milliseconds the callback was received at.
+     * @return {@code true} if the callback attempt should be accepted; {@code false} if it should fail to provoke a
+     *         retry.
+     */
+    boolean record(String body, long receivedAt) {
+        JsonNode callback = Json.node(body);
+        if (!callback.hasNonNull("seq") || !callback.hasNonNull("due")) {
+            invalid.incrementAndGet();
+            return true;
+        }
+        long seq = callback.get("seq").asLong();
+        int attempt = attempts.computeIfAbsent(seq, s -> new AtomicInteger()).incrementAndGet();
+        if (attempt > 1) {
+            retries.incrementAndGet();
+        } else if (seq >= warmupRequests) {
+            // the scheduling lateness is only meaningful for the first attempt
+            lateness.recordValue(Math.min(HIGHEST_LATENESS, Math.max(0, receivedAt - callback.get("due").asLong())));
+        }
+        // the first attempt of the configured percentage of callbacks fails
+        boolean failFirst = seq % 100 < failurePercentage;
+        if (failFirst && attempt == 1) {
+            return false;
+        }
+        if (attempt == (failFirst ? 2 : 1)) {
+            delivered.incrementAndGet();
+            lastDelivery = receivedAt;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of distinct callbacks delivered successfully.
+     *
+     * @return the number of delivered callbacks.
+     */
+    long getDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Gets the number of callback attempts beyond the first one.
+     *
+     * @return the number of retries.
+     */
+    long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Gets the number of received callbacks without sequence number or due time.
+     *
+     * @return the number of invalid callbacks.
+     */
+    long getInvalid() {
+        return invalid.get();
+    }
+
+    /**
+     * Gets the time in milliseconds the last callback was delivered at.
+     *
+     * @return the time of the last delivery or {@code 0} if none was delivered.
+     */
+    long getLastDelivery() {
+        return lastDelivery;
+    }
+
+    /**
+     * Gets the lateness recorded since the previous call and adds it to the {@link #getTotalLateness() total}.
+     *
+     * @return the interval {@link Histogram} of the lateness in milliseconds.
+     */
+    synchronized Histogram intervalLateness() {
+        Histogram interval = lateness.getIntervalHistogram();
+        total.add(interval);
+        return interval;
+    }
+
+    /**
+     * Gets the lateness recorded over all {@link #intervalLateness() intervals}.
+     *
+     * @return the {@link Histogram} of the lateness in milliseconds.
+     */
+    synchronized Histogram getTotalLateness() {
+        return total;
+    }
+}
@@ -1,17 +1,14 @@
 package com.ninecookies.wiremock.extensions;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.tomakehurst.wiremock.common.Json;
 import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.AbstractCallback;
+import com.ninecookies.wiremock.extensions.util.SampledLogger;
 
 /**
  * Represents the base class for callback handlers.
@@ -33,6 +30,13 @@ public abstract class AbstractCallbackHandler<T extends AbstractCallback> implem
          * The object representing arbitrary callback data.
          */
         public Object data;
+
+        /**
+         * Gets the destination of the callback, e.g. to limit the number of concurrent deliveries per destination.
+         *
+         * @return the key identifying the callback destination.
+         */
+        protected abstract String target();
     }
 
     /**
@@ -73,23 +77,44 @@ public abstract class AbstractCallbackHandler<T extends AbstractCallback> implem
         }
     }
 
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_RETRY = "retry";
+    private static final String OUTCOME_FAILED = "failed";
+    private static final Map<Class<?>, SampledLogger> SAMPLED_LOGS = new ConcurrentHashMap<>();
+
     private final Class<T> type;
-    private final File callbackFile;
-    private final ScheduledExecutorService executor;
+    private final CallbackStore store;
+    private final String callbackId;
+    private final String target;
+    private final CallbackScheduler scheduler;
     private final Logger log;
+    private final SampledLogger sampledLog;
     private final int maxRetries;
     private final int retryBackoff;
+    private final String metricType;
     private int invocation;
+    private volatile boolean scheduled;
+    private volatile long dueAt;
 
     @Override
     public final void run() {
+        ExtensionMetrics metrics = ExtensionMetrics.getInstance();
+        if (scheduled) {
+            metrics.callbackStarted(metricType, System.currentTimeMillis() - dueAt);
+        }
+        long started = System.nanoTime();
+        String outcome = OUTCOME_FAILED;
         boolean cleanup = true;
         try {
             handle(readCallback());
+            outcome = OUTCOME_SUCCESS;
         } catch (CallbackException e) {
             if (e instanceof RetryCallbackException) {
                 cleanup = rescheduleIfApplicable();
             }
+            if (!cleanup) {
+                outcome = OUTCOME_RETRY;
+            }
 
             if (cleanup) {
                 String retryInfo = "";
@@ -98,24 +123,50 @@ public abstract class AbstractCallbackHandler<T extends AbstractCallback> implem
                 }
                 log.warn("unable to publish '{}' message{}", type.getSimpleName(), retryInfo, e);
             } else {
-                log.info("publishing of {} will be retried", type.getSimpleName(), e);
+                sampledLog.info("publishing of {} will be retried", type.getSimpleName(), e);
             }
         } finally {
+            metrics.callbackPerformed(metricType, target, outcome, System.nanoTime() - started);
             if (cleanup) {
                 deleteCallback();
+                if (scheduled) {
+                    metrics.callbackCompleted();
+                }
             }
         }
     }
 
+    /**
+     * Schedules this handler to perform the callback after the specified {@code delay}.
+     *
+     * @param delay the period of time in milliseconds to wait before the callback is performed.
+     */
+    public void schedule(long delay) {
+        if (!scheduled) {
+            ExtensionMetrics.getInstance().callbackScheduled(metricType);
+            scheduled = true;
+        }
+        dueAt = System.currentTimeMillis() + delay;
+        scheduler.schedule(this, delay);
+    }
+
     /**
      * Implements the concrete callback handling.
      *
      * @param callback the callback definition to handle.
-     * @return {@code true} if handling was successful and the callback file should be cleaned up; otherwise
-     *         {@code false}.
+     * @throws CallbackException if handling failed.
      */
     protected abstract void handle(T callback) throws CallbackException;
 
+    /**
+     * Gets the destination of the callback handled by this instance.
+     *
+     * @return the key identifying the callback destination; {@code null} if unknown.
+     */
+    public String getTarget() {
+        return target;
+    }
+
     /**
      * Gets the logger to be use by extending classes.
      *
@@ -125,46 +176,54 @@ public abstract class AbstractCallbackHandler<T extends AbstractCallback> implem
         return log;
     }
 
+    /**
+     * Gets the rate limited logger for per callback events to be used by extending classes. The logger is shared by
+     * all instances of the same handler class.
+     *
+     * @return the {@link SampledLogger} instance.
+     */
+    protected SampledLogger getSampledLog() {
+        return sampledLog;
+    }
+
     /**
      * Initialize a new instance of the {@link AbstractCallbackHandler} with the specified arguments.
      *
-     * @param executor the {@link ScheduledExecutorService} to reschedule the callback handler.
-     * @param callbackFile the {@link File} reference to the callback definition.
+     * @param scheduler the {@link CallbackScheduler} to reschedule the callback handler.
+     * @param store the {@link CallbackStore} containing the callback definition.
+     * @param callbackId the identifier of the callback definition in the {@code store}.
+     * @param target the destination of the callback as provided by {@link AbstractCallback#target()}.
      * @param type the {@link Class} type of the callback.
      */
-    protected AbstractCallbackHandler(ScheduledExecutorService executor, File callbackFile, Class<T> type) {
-        this.executor = executor;
+    protected AbstractCallbackHandler(CallbackScheduler scheduler, CallbackStore store, String callbackId,
+            String target, Class<T> type) {
+        this.scheduler = scheduler;
         this.type = type;
-        this.callbackFile = callbackFile;
+        this.store = store;
+        this.callbackId = callbackId;
+        this.target = target;
         this.log = LoggerFactory.getLogger(getClass());
+        this.sampledLog = SAMPLED_LOGS.computeIfAbsent(getClass(), c -> SampledLogger.of(log));
         CallbackConfiguration config = CallbackConfiguration.getInstance();
         this.maxRetries = config.getMaxRetries();
         this.retryBackoff = config.getRetryBackoff();
+        this.metricType = type.getSimpleName().replace("Callback", "").toLowerCase(Locale.ROOT);
     }
 
     private boolean rescheduleIfApplicable() {
         invocation++;
-        if (executor != null && invocation <= maxRetries) {
-            executor.schedule(this, retryBackoff * invocation, TimeUnit.MILLISECONDS);
+        if (scheduler != null && invocation <= maxRetries) {
+            schedule(retryBackoff * invocation);
             return false;
         }
         return true;
     }
 
     private T readCallback() {
-        try {
-            String jsonContent = new String(Files.readAllBytes(callbackFile.toPath()), StandardCharsets.UTF_8);
-            return Json.read(jsonContent, type);
-        } catch (IOException e) {
-            throw new IllegalStateException("Unable to read callback content from file system", e);
-        }
+        return store.read(callbackId, type);
     }
 
     private void deleteCallback() {
-        try {
-            Files.deleteIfExists(callbackFile.toPath());
-        } catch (IOException e) {
-            log.error("unable to delete callback definition file", e);
-        }
+        store.delete(callbackId);
     }
 }
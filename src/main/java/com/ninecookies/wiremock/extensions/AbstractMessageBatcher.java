@@ -0,0 +1,206 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.CallbackException;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.RetryCallbackException;
+
+/**
+ * Groups messages that are due for the same destination within a short linger window into batches.
+ * <p>
+ * The first sender of a batch waits for the linger time or until the batch is full (10 entries or 256KB) and then
+ * sends the whole batch by {@link #sendBatch(String, List)}. All senders block until the result for their own entry is
+ * known, so that a failed entry surfaces as {@link CallbackException} to the related callback handler.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public abstract class AbstractMessageBatcher {
+
+    private static final int MAX_BATCH_ENTRIES = 10;
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private final long linger;
+    // guarded by itself
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    /**
+     * Initialize a new instance of the {@link AbstractMessageBatcher} with the specified arguments.
+     *
+     * @param linger the time in milliseconds to wait for further messages before a batch is sent.
+     */
+    protected AbstractMessageBatcher(long linger) {
+        this.linger = linger;
+    }
+
+    /**
+     * Adds the specified {@code message} to the batch of the specified {@code destination} and waits for the batch to
+     * be sent.
+     *
+     * @param destination the destination to send the message to.
+     * @param message the message to send.
+     * @throws CallbackException if sending the message fails.
+     */
+    protected void submit(String destination, String message) throws CallbackException {
+        Entry entry = new Entry(message);
+        Batch batch;
+        boolean leader = false;
+        synchronized (openBatches) {
+            batch = openBatches.get(destination);
+            if (batch == null || !batch.add(entry)) {
+                if (batch != null) {
+                    // let the leader of the full batch send it immediately
+                    batch.close();
+                }
+                batch = new Batch(destination);
+                batch.add(entry);
+                openBatches.put(destination, batch);
+                leader = true;
+            }
+            if (batch.isFull()) {
+                openBatches.remove(destination);
+                batch.close();
+            }
+        }
+        if (leader) {
+            batch.awaitClose(linger);
+            synchronized (openBatches) {
+                openBatches.remove(destination, batch);
+                batch.close();
+            }
+            send(batch);
+        }
+        entry.await();
+    }
+
+    /**
+     * Sends the specified {@code entries} as one batch and completes each entry with its individual result. The
+     * position of an entry in {@code entries} may be used as its batch entry id.
+     *
+     * @param destination the destination to send the entries to.
+     * @param entries the {@link Entry entries} of the batch.
+     * @throws Exception if sending the batch fails as a whole.
+     */
+    protected abstract void sendBatch(String destination, List<Entry> entries) throws Exception;
+
+    private void send(Batch batch) {
+        List<Entry> entries = batch.entries;
+        try {
+            sendBatch(batch.destination, entries);
+        } catch (Exception e) {
+            for (Entry entry : entries) {
+                entry.failed(new RetryCallbackException(e));
+            }
+        } finally {
+            // ensure nobody waits forever for entries the result didn't mention
+            for (Entry entry : entries) {
+                entry.failed(new RetryCallbackException(new IllegalStateException("no batch result for message")));
+            }
+        }
+    }
+
+    /**
+     * Represents a single message of a batch along with its pending result.
+     */
+    protected static final class Entry {
+        private final String message;
+        private final int bytes;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Entry(String message) {
+            this.message = message;
+            this.bytes = message.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        /**
+         * Gets the message.
+         *
+         * @return the message.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Completes the entry as sent successfully.
+         */
+        public void succeeded() {
+            result.complete(null);
+        }
+
+        /**
+         * Completes the entry as failed unless it's already completed.
+         *
+         * @param cause the {@link CallbackException} to surface to the sender of the entry.
+         */
+        public void failed(CallbackException cause) {
+            result.completeExceptionally(cause);
+        }
+
+        private void await() throws CallbackException {
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RetryCallbackException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof CallbackException) {
+                    throw (CallbackException) e.getCause();
+                }
+                throw new RetryCallbackException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Represents the messages collected for a destination during the linger window.
+     */
+    private static final class Batch {
+        private final String destination;
+        private final List<Entry> entries = new ArrayList<>(MAX_BATCH_ENTRIES);
+        private int bytes;
+        private boolean closed;
+
+        private Batch(String destination) {
+            this.destination = destination;
+        }
+
+        private synchronized boolean add(Entry entry) {
+            if (closed || (!entries.isEmpty() && bytes + entry.bytes > MAX_BATCH_BYTES)) {
+                return false;
+            }
+            entries.add(entry);
+            bytes += entry.bytes;
+            return true;
+        }
+
+        private synchronized boolean isFull() {
+            return entries.size() >= MAX_BATCH_ENTRIES || bytes >= MAX_BATCH_BYTES;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            notifyAll();
+        }
+
+        private synchronized void awaitClose(long timeout) {
+            long deadline = System.currentTimeMillis() + timeout;
+            long remaining = timeout;
+            while (!closed && remaining > 0) {
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package com.ninecookies.wiremock.extensions;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 import javax.jms.JMSException;
 
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +34,36 @@ import com.ninecookies.wiremock.extensions.util.Strings;
  * <li>{@code SCHEDULED_THREAD_POOL_SIZE} default 50
  * <li>{@code RETRY_BACKOFF} default 5_000
  * <li>{@code MAX_RETRIES} default 0 (means disabled)
+ * <li>{@code HTTP_MAX_CONNECTIONS} the maximum number of pooled HTTP callback connections (default 200).
+ * <li>{@code HTTP_MAX_CONNECTIONS_PER_ROUTE} the maximum number of pooled HTTP callback connections per route
+ * (default 50).
+ * <li>{@code HTTP_IDLE_TIMEOUT} the time in milliseconds after which idle HTTP connections are evicted (default
+ * 30_000).
+ * <li>{@code HTTP_KEEP_ALIVE} the time in milliseconds to keep HTTP connections alive if the server doesn't send a
+ * keep-alive header (default 30_000).
+ * <li>{@code CALLBACK_STORE} the storage for pending callbacks, either {@code memory}, {@code file} or
+ * {@code journal} (default {@code memory}).
+ * <li>{@code CALLBACK_JOURNAL_DIR} the directory of the callback journal (default {@code callback-journal} in the
+ * temporary directory).
+ * <li>{@code CALLBACK_SCHEDULER} the scheduler for callback delays, either {@code executor} or {@code wheel}
+ * (default {@code executor}).
+ * <li>{@code CALLBACK_EXECUTOR} the threads performing due callbacks, either {@code platform} or {@code virtual}
+ * (default {@code platform}; {@code virtual} requires Java 21 or later).
+ * <li>{@code CALLBACK_TARGET_CONCURRENCY} the maximum number of concurrent deliveries per callback destination
+ * (default 25; 0 means unlimited).
+ * <li>{@code CALLBACK_INGESTION_THREADS} the number of threads that turn served requests into scheduled callbacks off
+ * the request thread (default 2; 0 means callbacks are scheduled on the request thread).
+ * <li>{@code CALLBACK_INGESTION_QUEUE} the maximum number of served requests waiting for an ingestion thread; if
+ * exceeded the request thread schedules its callbacks itself (default 10_000).
+ * <li>{@code TIMING_WHEEL_TICK} the tick duration in milliseconds of the {@code wheel} scheduler (default 10).
+ * <li>{@code SQS_BATCH_LINGER} the time in milliseconds to collect SQS messages for the same queue into one batch
+ * (default 0 means batching disabled).
+ * <li>{@code SNS_BATCH_LINGER} the time in milliseconds to collect SNS messages for the same topic into one batch
+ * (default 0 means batching disabled).
+ * <li>{@code SNS_TOPIC_REFRESH} the time in milliseconds between background refreshes of the SNS topic index
+ * (default 60_000; 0 means the index is refreshed on unknown topic names only).
+ * <li>{@code SNS_TOPIC_NEGATIVE_TTL} the time in milliseconds an unresolvable SNS topic name isn't looked up again
+ * (default 10_000).
  * <li>{@code AWS_REGION} the AWS region for SQS messaging (default empty means SQS messaging disabled).
  * <li>{@code AWS_SQS_ENDPOINT} the SQS endpoint to use for testing with localstack (default empty means
  * AWS messaging is used).
@@ -40,12 +80,43 @@ public class CallbackConfiguration {
     private static final int DEFAULT_CORE_POOL_SIZE = 50;
     private static final int DEFAULT_RETRY_BACKOFF = 5_000;
     private static final int DEFAULT_MAX_RETRIES = 0;
+    private static final int DEFAULT_HTTP_MAX_CONNECTIONS = 200;
+    private static final int DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE = 50;
+    private static final int DEFAULT_HTTP_IDLE_TIMEOUT = 30_000;
+    private static final int DEFAULT_HTTP_KEEP_ALIVE = 30_000;
+    private static final int DEFAULT_SQS_BATCH_LINGER = 0;
+    private static final String DEFAULT_CALLBACK_STORE = "memory";
+    private static final String DEFAULT_CALLBACK_SCHEDULER = "executor";
+    private static final int DEFAULT_TIMING_WHEEL_TICK = 10;
+    private static final int DEFAULT_CALLBACK_TARGET_CONCURRENCY = 25;
+    private static final String DEFAULT_CALLBACK_EXECUTOR = "platform";
+    private static final int DEFAULT_CALLBACK_INGESTION_THREADS = 2;
+    private static final int DEFAULT_CALLBACK_INGESTION_QUEUE = 10_000;
+    private static final int DEFAULT_SNS_BATCH_LINGER = 0;
+    private static final int DEFAULT_SNS_TOPIC_REFRESH = 60_000;
+    private static final int DEFAULT_SNS_TOPIC_NEGATIVE_TTL = 10_000;
 
     private static CallbackConfiguration instance;
 
     private int corePoolSize;
     private int retryBackoff;
     private int maxRetries;
+    private int httpMaxConnections;
+    private int httpMaxConnectionsPerRoute;
+    private int httpIdleTimeout;
+    private int httpKeepAlive;
+    private CloseableHttpClient httpClient;
+    private int sqsBatchLinger;
+    private CallbackStore callbackStore;
+    private String callbackScheduler;
+    private int timingWheelTick;
+    private int callbackTargetConcurrency;
+    private String callbackExecutor;
+    private int callbackIngestionThreads;
+    private int callbackIngestionQueue;
+    private int snsBatchLinger;
+    private int snsTopicRefresh;
+    private int snsTopicNegativeTtl;
     private String region;
     private AmazonSQSClientBuilder sqsClientBuilder;
     private AmazonSNSClientBuilder snsClientBuilder;
@@ -59,6 +130,34 @@ public class CallbackConfiguration {
         }
         retryBackoff = parseEnvironmentSetting("RETRY_BACKOFF", DEFAULT_RETRY_BACKOFF);
         maxRetries = parseEnvironmentSetting("MAX_RETRIES", DEFAULT_MAX_RETRIES);
+        httpMaxConnections = parseEnvironmentSetting("HTTP_MAX_CONNECTIONS", DEFAULT_HTTP_MAX_CONNECTIONS);
+        httpMaxConnectionsPerRoute = parseEnvironmentSetting("HTTP_MAX_CONNECTIONS_PER_ROUTE",
+                DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE);
+        httpIdleTimeout = parseEnvironmentSetting("HTTP_IDLE_TIMEOUT", DEFAULT_HTTP_IDLE_TIMEOUT);
+        httpKeepAlive = parseEnvironmentSetting("HTTP_KEEP_ALIVE", DEFAULT_HTTP_KEEP_ALIVE);
+        httpClient = createHttpClient();
+        sqsBatchLinger = parseEnvironmentSetting("SQS_BATCH_LINGER", DEFAULT_SQS_BATCH_LINGER);
+        callbackStore = createCallbackStore();
+        callbackScheduler = parseCallbackScheduler();
+        timingWheelTick = parseEnvironmentSetting("TIMING_WHEEL_TICK", DEFAULT_TIMING_WHEEL_TICK);
+        if (timingWheelTick <= 0) {
+            LOG.error("invalid timing wheel tick '{}' - using '{}'", timingWheelTick, DEFAULT_TIMING_WHEEL_TICK);
+            timingWheelTick = DEFAULT_TIMING_WHEEL_TICK;
+        }
+        callbackTargetConcurrency = parseEnvironmentSetting("CALLBACK_TARGET_CONCURRENCY",
+                DEFAULT_CALLBACK_TARGET_CONCURRENCY);
+        callbackExecutor = parseCallbackExecutor();
+        callbackIngestionThreads = parseEnvironmentSetting("CALLBACK_INGESTION_THREADS",
+                DEFAULT_CALLBACK_INGESTION_THREADS);
+        callbackIngestionQueue = parseEnvironmentSetting("CALLBACK_INGESTION_QUEUE", DEFAULT_CALLBACK_INGESTION_QUEUE);
+        if (callbackIngestionQueue <= 0) {
+            LOG.error("invalid callback ingestion queue '{}' - using '{}'", callbackIngestionQueue,
+                    DEFAULT_CALLBACK_INGESTION_QUEUE);
+            callbackIngestionQueue = DEFAULT_CALLBACK_INGESTION_QUEUE;
+        }
+        snsBatchLinger = parseEnvironmentSetting("SNS_BATCH_LINGER", DEFAULT_SNS_BATCH_LINGER);
+        snsTopicRefresh = parseEnvironmentSetting("SNS_TOPIC_REFRESH", DEFAULT_SNS_TOPIC_REFRESH);
+        snsTopicNegativeTtl = parseEnvironmentSetting("SNS_TOPIC_NEGATIVE_TTL", DEFAULT_SNS_TOPIC_NEGATIVE_TTL);
         region = System.getenv("AWS_REGION");
 
         if (!Strings.isNullOrEmpty(region)) {
@@ -90,6 +189,85 @@ public class CallbackConfiguration {
         }
     }
 
+    private CallbackStore createCallbackStore() {
+        String store = System.getenv("CALLBACK_STORE");
+        if (Strings.isNullOrEmpty(store)) {
+            store = DEFAULT_CALLBACK_STORE;
+        }
+        switch (store.trim().toLowerCase(Locale.ROOT)) {
+            case "file":
+                return new FileCallbackStore();
+            case "memory":
+                return new MemoryCallbackStore();
+            case "journal":
+                String directory = System.getenv("CALLBACK_JOURNAL_DIR");
+                if (Strings.isNullOrEmpty(directory)) {
+                    directory = Paths.get(System.getProperty("java.io.tmpdir"), "callback-journal").toString();
+                }
+                try {
+                    return new JournalCallbackStore(Paths.get(directory));
+                } catch (IOException e) {
+                    LOG.error("unable to open callback journal '{}' - using '{}'", directory,
+                            DEFAULT_CALLBACK_STORE, e);
+                    return new MemoryCallbackStore();
+                }
+            default:
+                LOG.error("unknown callback store '{}' - using '{}'", store, DEFAULT_CALLBACK_STORE);
+                return new MemoryCallbackStore();
+        }
+    }
+
+    private String parseCallbackScheduler() {
+        String scheduler = System.getenv("CALLBACK_SCHEDULER");
+        if (Strings.isNullOrEmpty(scheduler)) {
+            return DEFAULT_CALLBACK_SCHEDULER;
+        }
+        scheduler = scheduler.trim().toLowerCase(Locale.ROOT);
+        switch (scheduler) {
+            case "executor":
+            case "wheel":
+                return scheduler;
+            default:
+                LOG.error("unknown callback scheduler '{}' - using '{}'", scheduler, DEFAULT_CALLBACK_SCHEDULER);
+                return DEFAULT_CALLBACK_SCHEDULER;
+        }
+    }
+
+    private String parseCallbackExecutor() {
+        String executor = System.getenv("CALLBACK_EXECUTOR");
+        if (Strings.isNullOrEmpty(executor)) {
+            return DEFAULT_CALLBACK_EXECUTOR;
+        }
+        executor = executor.trim().toLowerCase(Locale.ROOT);
+        switch (executor) {
+            case "platform":
+            case "virtual":
+                return executor;
+            default:
+                LOG.error("unknown callback executor '{}' - using '{}'", executor, DEFAULT_CALLBACK_EXECUTOR);
+                return DEFAULT_CALLBACK_EXECUTOR;
+        }
+    }
+
+    private CloseableHttpClient createHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(httpMaxConnections);
+        connectionManager.setDefaultMaxPerRoute(httpMaxConnectionsPerRoute);
+        // use the server provided keep-alive duration if present; otherwise the configured default
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? duration : httpKeepAlive;
+        };
+        LOG.debug("http client with max connections {} - per route {} - idle timeout {} - keep alive {}",
+                httpMaxConnections, httpMaxConnectionsPerRoute, httpIdleTimeout, httpKeepAlive);
+        return HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(httpIdleTimeout, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
     private int parseEnvironmentSetting(String name, int defaultValue) {
         int result = defaultValue;
         try {
@@ -130,6 +308,199 @@ public class CallbackConfiguration {
         return maxRetries;
     }
 
+    /**
+     * Gets the maximum number of pooled HTTP connections.
+     *
+     * @return the httpMaxConnections.
+     */
+    public int getHttpMaxConnections() {
+        return httpMaxConnections;
+    }
+
+    /**
+     * Gets the maximum number of pooled HTTP connections per route.
+     *
+     * @return the httpMaxConnectionsPerRoute.
+     */
+    public int getHttpMaxConnectionsPerRoute() {
+        return httpMaxConnectionsPerRoute;
+    }
+
+    /**
+     * Gets the time in milliseconds after which idle HTTP connections are evicted.
+     *
+     * @return the httpIdleTimeout.
+     */
+    public int getHttpIdleTimeout() {
+        return httpIdleTimeout;
+    }
+
+    /**
+     * Gets the default time in milliseconds to keep HTTP connections alive.
+     *
+     * @return the httpKeepAlive.
+     */
+    public int getHttpKeepAlive() {
+        return httpKeepAlive;
+    }
+
+    /**
+     * Gets the shared HTTP client that pools connections to callback destinations.
+     * <p>
+     * Note: the client is shared by all HTTP callbacks and must not be closed by callers.
+     *
+     * @return the shared {@link CloseableHttpClient}.
+     */
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Gets the storage for pending callbacks.
+     *
+     * @return the {@link CallbackStore} to persist callback definitions until they are handled.
+     */
+    public CallbackStore getCallbackStore() {
+        return callbackStore;
+    }
+
+    /**
+     * Gets the scheduler for callback delays.
+     *
+     * @return the callbackScheduler, either {@code executor} or {@code wheel}.
+     */
+    public String getCallbackScheduler() {
+        return callbackScheduler;
+    }
+
+    /**
+     * Indicates whether callback delays are kept by a {@link TimingWheelCallbackScheduler}.
+     *
+     * @return {@code true} if the timing wheel scheduler is used; otherwise {@code false}.
+     */
+    public boolean isTimingWheelEnabled() {
+        return "wheel".equals(callbackScheduler);
+    }
+
+    /**
+     * Gets the tick duration in milliseconds of the timing wheel scheduler.
+     *
+     * @return the timingWheelTick.
+     */
+    public int getTimingWheelTick() {
+        return timingWheelTick;
+    }
+
+    /**
+     * Gets the threads performing due callbacks.
+     *
+     * @return the callbackExecutor, either {@code platform} or {@code virtual}.
+     */
+    public String getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Indicates whether due callbacks should be performed on virtual threads.
+     * <p>
+     * Note: virtual threads are used only if the runtime supports them; otherwise the platform thread pool is used.
+     *
+     * @return {@code true} if virtual threads are requested; otherwise {@code false}.
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return "virtual".equals(callbackExecutor);
+    }
+
+    /**
+     * Gets the maximum number of concurrent deliveries per callback destination.
+     *
+     * @return the callbackTargetConcurrency; {@code 0} means unlimited.
+     */
+    public int getCallbackTargetConcurrency() {
+        return callbackTargetConcurrency;
+    }
+
+    /**
+     * Gets the number of threads that turn served requests into scheduled callbacks.
+     *
+     * @return the callbackIngestionThreads; {@code 0} means callbacks are scheduled on the request thread.
+     */
+    public int getCallbackIngestionThreads() {
+        return callbackIngestionThreads;
+    }
+
+    /**
+     * Gets the maximum number of served requests waiting for an ingestion thread.
+     *
+     * @return the callbackIngestionQueue.
+     */
+    public int getCallbackIngestionQueue() {
+        return callbackIngestionQueue;
+    }
+
+    /**
+     * Indicates whether callbacks are scheduled off the request thread.
+     *
+     * @return {@code true} if served requests are handed to ingestion threads; otherwise {@code false}.
+     */
+    public boolean isAsyncIngestionEnabled() {
+        return callbackIngestionThreads > 0;
+    }
+
+    /**
+     * Gets the time in milliseconds to collect SQS messages for the same queue into one batch.
+     *
+     * @return the sqsBatchLinger.
+     */
+    public int getSqsBatchLinger() {
+        return sqsBatchLinger;
+    }
+
+    /**
+     * Indicates whether SQS messages are published in batches.
+     *
+     * @return {@code true} if SQS messages are published in batches; otherwise {@code false}.
+     */
+    public boolean isSqsBatchingEnabled() {
+        return sqsBatchLinger > 0;
+    }
+
+    /**
+     * Gets the time in milliseconds to collect SNS messages for the same topic into one batch.
+     *
+     * @return the snsBatchLinger.
+     */
+    public int getSnsBatchLinger() {
+        return snsBatchLinger;
+    }
+
+    /**
+     * Indicates whether SNS messages are published in batches.
+     *
+     * @return {@code true} if SNS messages are published in batches; otherwise {@code false}.
+     */
+    public boolean isSnsBatchingEnabled() {
+        return snsBatchLinger > 0;
+    }
+
+    /**
+     * Gets the time in milliseconds between background refreshes of the SNS topic index.
+     *
+     * @return the snsTopicRefresh; {@code 0} means no background refresh.
+     */
+    public int getSnsTopicRefresh() {
+        return snsTopicRefresh;
+    }
+
+    /**
+     * Gets the time in milliseconds an unresolvable SNS topic name isn't looked up again.
+     *
+     * @return the snsTopicNegativeTtl.
+     */
+    public int getSnsTopicNegativeTtl() {
+        return snsTopicNegativeTtl;
+    }
+
     /**
      * Indicates whether SNS/SQS messaging is enabled.
      *
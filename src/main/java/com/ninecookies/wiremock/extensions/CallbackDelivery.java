@@ -0,0 +1,128 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implements the {@link Executor} interface to run due callback handlers on the delivery workers while limiting the
+ * number of concurrent deliveries per callback destination.
+ * <p>
+ * Handlers for a destination that already occupies the configured number of workers are queued per destination and
+ * run as soon as one of the deliveries to that destination finished. Thus a slow destination can't occupy all workers
+ * and delay callbacks to other destinations.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ * @see AbstractCallbackHandler#getTarget()
+ */
+public class CallbackDelivery implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CallbackDelivery.class);
+
+    private final Executor workers;
+    private final int targetConcurrency;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Initialize a new instance of the {@link CallbackDelivery} with the specified arguments.
+     *
+     * @param workers the {@link Executor} performing the deliveries.
+     * @param targetConcurrency the maximum number of concurrent deliveries per destination; {@code 0} means
+     *            unlimited.
+     */
+    public CallbackDelivery(Executor workers, int targetConcurrency) {
+        if (workers == null) {
+            throw new IllegalArgumentException("workers must not be null");
+        }
+        this.workers = workers;
+        this.targetConcurrency = targetConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        String target = null;
+        if (task instanceof AbstractCallbackHandler) {
+            target = ((AbstractCallbackHandler<?>) task).getTarget();
+        }
+        if (target == null || targetConcurrency <= 0) {
+            workers.execute(task);
+            return;
+        }
+        boolean[] start = new boolean[1];
+        lanes.compute(target, (key, lane) -> {
+            Lane result = lane == null ? new Lane() : lane;
+            if (result.active < targetConcurrency) {
+                result.active++;
+                start[0] = true;
+            } else {
+                result.waiting.offer(task);
+                queued.incrementAndGet();
+            }
+            return result;
+        });
+        if (start[0]) {
+            runInLane(target, task);
+        } else {
+            LOG.debug("delivery to '{}' queued - {} deliveries active", target, targetConcurrency);
+        }
+    }
+
+    /**
+     * Gets the number of deliveries that are queued due to the destination limit.
+     *
+     * @return the number of queued deliveries.
+     */
+    public int queued() {
+        return queued.get();
+    }
+
+    private void runInLane(String target, Runnable task) {
+        try {
+            workers.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    next(target);
+                }
+            });
+        } catch (RuntimeException e) {
+            next(target);
+            throw e;
+        }
+    }
+
+    private void next(String target) {
+        Runnable[] next = new Runnable[1];
+        lanes.computeIfPresent(target, (key, lane) -> {
+            next[0] = lane.waiting.poll();
+            if (next[0] == null) {
+                lane.active--;
+                // release idle lanes to not keep every destination ever seen
+                return lane.active == 0 ? null : lane;
+            }
+            return lane;
+        });
+        if (next[0] != null) {
+            queued.decrementAndGet();
+            runInLane(target, next[0]);
+        }
+    }
+
+    /**
+     * Represents the active and waiting deliveries of a single destination.
+     * <p>
+     * Note: a lane is modified within {@link ConcurrentHashMap#compute} only, which locks it implicitly.
+     */
+    private static final class Lane {
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+    }
+}
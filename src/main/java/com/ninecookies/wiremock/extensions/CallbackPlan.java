@@ -0,0 +1,154 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.jayway.jsonpath.DocumentContext;
+import com.ninecookies.wiremock.extensions.api.Authentication;
+import com.ninecookies.wiremock.extensions.api.Callback;
+import com.ninecookies.wiremock.extensions.api.Callbacks;
+import com.ninecookies.wiremock.extensions.util.JsonTemplate;
+import com.ninecookies.wiremock.extensions.util.Strings;
+
+/**
+ * Represents a callback definition of a stub mapping bound once to its callback type along with the compiled template
+ * of its data.
+ * <p>
+ * Plans are immutable and meant to be cached per stub mapping so that the callback parameters aren't converted and
+ * serialized again for each served request.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public final class CallbackPlan {
+
+    /**
+     * Defines the supported callback types.
+     */
+    public enum Type {
+        HTTP, SQS, SNS
+    }
+
+    private final Type type;
+    private final long delay;
+    private final String destination;
+    private final Authentication authentication;
+    private final String traceId;
+    private final JsonTemplate data;
+
+    private CallbackPlan(Type type, Callback callback, String destination) {
+        this.type = type;
+        this.delay = callback.delay;
+        this.destination = destination;
+        this.authentication = callback.authentication;
+        this.traceId = callback.traceId;
+        this.data = JsonTemplate.of(Json.write(callback.data));
+    }
+
+    /**
+     * Gets the type of the callback.
+     *
+     * @return the {@link Type}.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the period of time in milliseconds to wait before the callback is performed.
+     *
+     * @return the delay.
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * Gets the destination URL, queue or topic depending on the {@link #getType() type}, possibly containing
+     * placeholders.
+     *
+     * @return the destination.
+     */
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     * Gets the authentication of HTTP callbacks.
+     *
+     * @return the {@link Authentication} or {@code null} if not specified.
+     */
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+
+    /**
+     * Gets the trace identifier of HTTP callbacks.
+     *
+     * @return the traceId or {@code null} if not specified.
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Renders the callback data with the placeholders replaced by their related values looked up in the specified
+     * <i>placeholderSource</i>.
+     *
+     * @param placeholderSource the placeholder source {@link DocumentContext} to look up values.
+     * @return the JSON string of the callback data.
+     */
+    public String renderData(DocumentContext placeholderSource) {
+        return data.render(placeholderSource);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("CallbackPlan[")
+                .append("type=").append(type)
+                .append(", delay=").append(delay)
+                .append(", destination=").append(destination)
+                .append(", data=").append(data)
+                .append("]")
+                .toString();
+    }
+
+    /**
+     * Binds the specified {@code callback} definition to a new {@link CallbackPlan}.
+     *
+     * @param callback the {@link Callback} definition to bind.
+     * @return a new {@link CallbackPlan}.
+     * @throws IllegalStateException if neither {@link Callback#url}, {@link Callback#queue} nor {@link Callback#topic}
+     *             is specified.
+     */
+    public static CallbackPlan of(Callback callback) {
+        if (!Strings.isNullOrEmpty(callback.url)) {
+            return new CallbackPlan(Type.HTTP, callback, callback.url);
+        } else if (!Strings.isNullOrEmpty(callback.queue)) {
+            return new CallbackPlan(Type.SQS, callback, callback.queue);
+        } else if (!Strings.isNullOrEmpty(callback.topic)) {
+            return new CallbackPlan(Type.SNS, callback, callback.topic);
+        }
+        throw new IllegalStateException("Unknown callback type - either 'queue', 'topic' or 'url' must be specified.");
+    }
+
+    /**
+     * Binds the callback definitions of the specified post serve action {@code parameters} to new
+     * {@link CallbackPlan}s.
+     *
+     * @param parameters the {@link Parameters} representing {@link Callbacks}.
+     * @return the unmodifiable {@link List} of {@link CallbackPlan}s in definition order.
+     * @throws IllegalStateException if a callback definition has no destination.
+     */
+    public static List<CallbackPlan> of(Parameters parameters) {
+        Callbacks callbacks = parameters.as(Callbacks.class);
+        List<CallbackPlan> result = new ArrayList<>(callbacks.callbacks.size());
+        for (Callback callback : callbacks.callbacks) {
+            result.add(of(callback));
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
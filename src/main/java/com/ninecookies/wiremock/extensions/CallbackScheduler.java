@@ -0,0 +1,36 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines the scheduling of callback handlers when their delay has elapsed.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ * @see TimingWheelCallbackScheduler
+ */
+@FunctionalInterface
+public interface CallbackScheduler {
+
+    /**
+     * Schedules the specified {@code task} to run after the specified {@code delay}.
+     *
+     * @param task the {@link Runnable} to run.
+     * @param delay the period of time in milliseconds to wait before the {@code task} runs.
+     */
+    void schedule(Runnable task, long delay);
+
+    /**
+     * Creates a new {@link CallbackScheduler} that keeps the delays with the specified {@code timer} and hands due
+     * tasks to the specified {@code workers}.
+     *
+     * @param timer the {@link ScheduledExecutorService} to keep the delays with.
+     * @param workers the {@link Executor} to run due tasks with.
+     * @return a new {@link CallbackScheduler} utilizing the specified {@code timer} and {@code workers}.
+     */
+    static CallbackScheduler of(ScheduledExecutorService timer, Executor workers) {
+        return (task, delay) -> timer.schedule(() -> workers.execute(task), delay, TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,43 +1,57 @@
 package com.ninecookies.wiremock.extensions;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
+import static com.ninecookies.wiremock.extensions.util.SampledLogger.payload;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.extension.PostServeAction;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import com.jayway.jsonpath.DocumentContext;
+import com.ninecookies.wiremock.extensions.CallbackStore.PendingCallback;
 import com.ninecookies.wiremock.extensions.HttpCallbackHandler.HttpCallback;
 import com.ninecookies.wiremock.extensions.SnsCallbackHandler.SnsCallback;
 import com.ninecookies.wiremock.extensions.SqsCallbackHandler.SqsCallback;
 import com.ninecookies.wiremock.extensions.api.Authentication;
 import com.ninecookies.wiremock.extensions.api.Callback;
-import com.ninecookies.wiremock.extensions.api.Callbacks;
-import com.ninecookies.wiremock.extensions.util.Objects;
+import com.ninecookies.wiremock.extensions.util.LazyJsonObject;
 import com.ninecookies.wiremock.extensions.util.Placeholders;
-import com.ninecookies.wiremock.extensions.util.Strings;
+import com.ninecookies.wiremock.extensions.util.SampledLogger;
 
 /**
  * Implements the {@link PostServeAction} interface and provides the ability to specify callback invocations for request
  * mappings.
  * <p>
- * This class utilizes the {@link ScheduledExecutorService} and configures it to use a {@link ThreadFactory} that
- * produces daemon {@link Thread}s.
+ * Served requests are handed to a small pool of ingestion {@link Thread}s that resolve the callback data, persist the
+ * callbacks and schedule them. Thus the request thread only enqueues references to the already captured request,
+ * response and parameters. If the bounded ingestion queue is full the request thread schedules its callbacks itself.
+ * The time spent in the queue is deducted from the callback delays.
+ * <p>
+ * This class keeps the callback delays with a single threaded {@link ScheduledThreadPoolExecutor} or, if enabled, a
+ * {@link TimingWheelCallbackScheduler} that only hand due callbacks to a fixed pool of delivery {@link Thread}s. Thus
+ * slow callback destinations never delay the timer. The {@link CallbackDelivery} limits the number of concurrent
+ * deliveries per destination so that a slow destination can't occupy all delivery threads either. All threads are
+ * daemon {@link Thread}s produced by a dedicated {@link ThreadFactory}. The callback pipeline is instrumented with the
+ * {@link ExtensionMetrics}.
  *
  * @author M.Scheepers
  * @since 0.0.6
@@ -46,19 +60,61 @@ import com.ninecookies.wiremock.extensions.util.Strings;
 public class CallbackSimulator extends PostServeAction {
 
     private static final Logger LOG = LoggerFactory.getLogger(CallbackSimulator.class);
+    private static final SampledLogger SAMPLED_LOG = SampledLogger.of(LOG);
+    private static final int MAX_CACHED_PLANS = 10_000;
     private static int instances = 0;
     private final long instance = ++instances;
     private final boolean messagingEnabled;
 
-    private final ScheduledExecutorService executor;
+    private final CallbackScheduler scheduler;
+    private final CallbackStore store;
+    // null if callbacks are scheduled on the request thread
+    private final Executor ingestion;
+    private final Map<UUID, BoundPlans> plans = new ConcurrentHashMap<>();
 
     public CallbackSimulator() {
         CallbackConfiguration config = CallbackConfiguration.getInstance();
         int corePoolSize = config.getCorePoolSize();
         messagingEnabled = config.isMessagingEnabled();
-        LOG.info("instance: {} - using SCHEDULED_THREAD_POOL_SIZE {} - RETRY_BACKOFF {} - MAX_RETRIES {}",
-                instance, corePoolSize, config.getRetryBackoff(), config.getMaxRetries());
-        executor = Executors.newScheduledThreadPool(corePoolSize, new DaemonThreadFactory());
+        LOG.info("instance: {} - using SCHEDULED_THREAD_POOL_SIZE {} - CALLBACK_TARGET_CONCURRENCY {} - "
+                + "RETRY_BACKOFF {} - MAX_RETRIES {}", instance, corePoolSize, config.getCallbackTargetConcurrency(),
+                config.getRetryBackoff(), config.getMaxRetries());
+        CallbackDelivery delivery = new CallbackDelivery(
+                createDeliveryExecutor(config.isVirtualThreadsEnabled(), corePoolSize),
+                config.getCallbackTargetConcurrency());
+        ExtensionMetrics metrics = ExtensionMetrics.getInstance();
+        metrics.gauge("callbacks.delivery.queued", instance, delivery, CallbackDelivery::queued);
+        if (config.isTimingWheelEnabled()) {
+            LOG.info("instance: {} - using timing wheel with TIMING_WHEEL_TICK {}", instance,
+                    config.getTimingWheelTick());
+            TimingWheelCallbackScheduler wheel = new TimingWheelCallbackScheduler(config.getTimingWheelTick(),
+                    delivery);
+            metrics.gauge("callbacks.timer.queued", instance, wheel, TimingWheelCallbackScheduler::pending);
+            scheduler = wheel;
+        } else {
+            // the timer thread only hands due callbacks to the delivery threads
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                    new DaemonThreadFactory("callback-timer-"));
+            metrics.gauge("callbacks.timer.queued", instance, timer, t -> t.getQueue().size());
+            scheduler = CallbackScheduler.of(timer, delivery);
+        }
+        if (config.isAsyncIngestionEnabled()) {
+            LOG.info("instance: {} - using CALLBACK_INGESTION_THREADS {} - CALLBACK_INGESTION_QUEUE {}", instance,
+                    config.getCallbackIngestionThreads(), config.getCallbackIngestionQueue());
+            // a full queue makes the request thread schedule its callbacks itself instead of dropping them
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(config.getCallbackIngestionThreads(),
+                    config.getCallbackIngestionThreads(), 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(config.getCallbackIngestionQueue()),
+                    new DaemonThreadFactory("callback-ingestion-"), new ThreadPoolExecutor.CallerRunsPolicy());
+            metrics.gauge("callbacks.ingestion.queued", instance, executor, e -> e.getQueue().size());
+            ingestion = executor;
+        } else {
+            ingestion = null;
+        }
+        store = config.getCallbackStore();
+        for (PendingCallback pending : store.recover()) {
+            schedulePendingCallback(pending);
+        }
     }
 
     @Override
@@ -69,104 +125,191 @@ public class CallbackSimulator extends PostServeAction {
     @Override
     public void doAction(ServeEvent serveEvent, Admin admin, Parameters parameters) {
         LOG.debug("doAction[{}](serveEvent: {}, admin: {}, parameters: {})", instance, serveEvent, admin, parameters);
+        long servedAt = System.currentTimeMillis();
+        if (ingestion != null) {
+            ingestion.execute(() -> ingest(serveEvent, parameters, servedAt));
+        } else {
+            scheduleCallbacks(serveEvent, parameters, servedAt);
+        }
+    }
 
-        List<String> urlParts = Placeholders.splitUrl(serveEvent.getRequest().getUrl());
-
-        // compose JSON path parsable request/response/path json
-        DocumentContext servedJson = Placeholders.documentContextOf("{\"request\":"
-                + serveEvent.getRequest().getBodyAsString() + ", \"response\":"
-                + serveEvent.getResponse().getBodyAsString() + ", \"urlParts\":"
-                + Json.write(urlParts) + "}");
-
-        Callbacks callbacks = parameters.as(Callbacks.class);
-
-        for (Callback callback : callbacks.callbacks) {
-            if (!Strings.isNullOrEmpty(callback.url)) {
-                scheduleHttpCallback(servedJson, Objects.convert(callback, HttpCallback.class));
-            } else if (!Strings.isNullOrEmpty(callback.queue)) {
-                scheduleSqsCallback(servedJson, Objects.convert(callback, SqsCallback.class));
-            } else if (!Strings.isNullOrEmpty(callback.topic)) {
-                scheduleSnsCallback(servedJson, Objects.convert(callback, SnsCallback.class));
-            } else {
-                throw new IllegalStateException("Unknown callback type - "
-                        + "either 'queue', 'topic' or 'url' must be specified.");
+    /**
+     * Resolves, persists and schedules the callbacks of the specified {@code serveEvent} on behalf of the ingestion
+     * pool. Failures are logged since there is no caller to propagate them to.
+     *
+     * @param serveEvent the {@link ServeEvent} of the served stub mapping.
+     * @param parameters the post serve action {@link Parameters} of the stub mapping.
+     * @param servedAt the time in milliseconds the request was served at.
+     */
+    private void ingest(ServeEvent serveEvent, Parameters parameters, long servedAt) {
+        try {
+            scheduleCallbacks(serveEvent, parameters, servedAt);
+        } catch (RuntimeException e) {
+            LOG.error("instance {} - unable to schedule callbacks for '{}'", instance,
+                    serveEvent.getRequest().getUrl(), e);
+        }
+    }
+
+    private void scheduleCallbacks(ServeEvent serveEvent, Parameters parameters, long servedAt) {
+        // compose JSON path placeholder source with request, response and URL parts parsed on demand only
+        Map<String, Supplier<?>> served = new LinkedHashMap<>();
+        served.put("request", () -> Placeholders.parseJson(serveEvent.getRequest().getBodyAsString()));
+        served.put("response", () -> Placeholders.parseJson(serveEvent.getResponse().getBodyAsString()));
+        served.put("urlParts", () -> Placeholders.splitUrl(serveEvent.getRequest().getUrl()));
+        DocumentContext servedJson = Placeholders.documentContextOf(LazyJsonObject.of(served));
+
+        for (CallbackPlan plan : plansOf(serveEvent, parameters)) {
+            switch (plan.getType()) {
+                case HTTP:
+                    scheduleHttpCallback(servedJson, plan, servedAt);
+                    break;
+                case SQS:
+                    scheduleSqsCallback(servedJson, plan, servedAt);
+                    break;
+                case SNS:
+                    scheduleSnsCallback(servedJson, plan, servedAt);
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported callback type '" + plan.getType() + "'");
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link CallbackPlan}s for the callback definitions of the served stub mapping. The plans are bound
+     * once per stub mapping and its {@code parameters} instance and cached for subsequent requests.
+     *
+     * @param serveEvent the {@link ServeEvent} of the served stub mapping.
+     * @param parameters the post serve action {@link Parameters} of the stub mapping.
+     * @return the {@link CallbackPlan}s of the stub mapping.
+     */
+    private List<CallbackPlan> plansOf(ServeEvent serveEvent, Parameters parameters) {
+        UUID stubId = serveEvent.getStubMapping() == null ? null : serveEvent.getStubMapping().getId();
+        if (stubId == null) {
+            return CallbackPlan.of(parameters);
+        }
+        BoundPlans bound = plans.get(stubId);
+        // an edited stub mapping comes with new parameters
+        if (bound == null || bound.parameters != parameters) {
+            bound = new BoundPlans(parameters, CallbackPlan.of(parameters));
+            if (plans.size() >= MAX_CACHED_PLANS) {
+                // simple overflow protection for dynamically created stub mappings
+                plans.clear();
             }
+            plans.put(stubId, bound);
+            LOG.debug("instance {} - bound callback plans for stub '{}': {}", instance, stubId, bound.plans);
         }
+        return bound.plans;
     }
 
-    private void scheduleSnsCallback(DocumentContext servedJson, SnsCallback callback) {
+    private void scheduleSnsCallback(DocumentContext servedJson, CallbackPlan plan, long servedAt) {
         if (!messagingEnabled) {
             LOG.warn("instance {} - sns callbacks disabled - ignore task to: '{}' with delay '{}' and data '{}'",
-                    instance, callback.topic, callback.delay, callback.data);
+                    instance, plan.getDestination(), plan.getDelay(), plan);
             return;
         }
-        String topic = callback.topic;
-        callback.topic = Placeholders.transformValue(servedJson, topic);
-        callback.data = Placeholders.transformJson(servedJson, Json.write(callback.data));
+        SnsCallback callback = new SnsCallback();
+        callback.delay = plan.getDelay();
+        callback.topic = Placeholders.transformValue(servedJson, plan.getDestination());
+        callback.data = plan.renderData(servedJson);
         if ("null".equals(callback.topic)) {
             LOG.warn("instance {} - unresolvable SNS topic '{}' - ignore task to: '{}' with delay '{}' and data '{}'",
-                    instance, topic, callback.topic, callback.delay, callback.data);
+                    instance, plan.getDestination(), callback.topic, callback.delay, payload(callback.data));
             return;
         }
-        File callbackDefinition = persistCallback(callback);
-        LOG.info("instance {} - scheduling callback task to: '{}' with delay '{}' and data '{}'",
-                instance, callback.topic, callback.delay, callback.data);
-        Runnable callbackHandler = SnsCallbackHandler.of(executor, callbackDefinition);
-        executor.schedule(callbackHandler, callback.delay, TimeUnit.MILLISECONDS);
+        String callbackDefinition = persistCallback(callback, servedAt + callback.delay);
+        SAMPLED_LOG.info("instance {} - scheduling callback task to: '{}' with delay '{}' and data '{}'",
+                instance, callback.topic, callback.delay, payload(callback.data));
+        SnsCallbackHandler.of(scheduler, store, callbackDefinition, callback.target())
+                .schedule(remainingDelay(callback.delay, servedAt));
     }
 
-    private void scheduleSqsCallback(DocumentContext servedJson, SqsCallback callback) {
+    private void scheduleSqsCallback(DocumentContext servedJson, CallbackPlan plan, long servedAt) {
         if (!messagingEnabled) {
             LOG.warn("instance {} - sqs callbacks disabled - ignore task to: '{}' with delay '{}' and data '{}'",
-                    instance, callback.queue, callback.delay, callback.data);
+                    instance, plan.getDestination(), plan.getDelay(), plan);
             return;
         }
         // normalize callback
-        String queue = callback.queue;
-        callback.queue = Placeholders.transformValue(servedJson, callback.queue);
-        callback.data = Placeholders.transformJson(servedJson, Json.write(callback.data));
+        SqsCallback callback = new SqsCallback();
+        callback.delay = plan.getDelay();
+        callback.queue = Placeholders.transformValue(servedJson, plan.getDestination());
+        callback.data = plan.renderData(servedJson);
         // check for queue name String.valueOf((Object) null) as a result of transformValue()
         if ("null".equals(callback.queue)) {
             LOG.warn("instance {} - unresolvable SQS queue '{}' - ignore task to: '{}' with delay '{}' and data '{}'",
-                    instance, queue, callback.queue, callback.delay, callback.data);
+                    instance, plan.getDestination(), callback.queue, callback.delay, payload(callback.data));
             return;
         }
-        File callbackDefinition = persistCallback(callback);
-        LOG.info("instance {} - scheduling callback task to: '{}' with delay '{}' and data '{}'",
-                instance, callback.queue, callback.delay, callback.data);
-        Runnable callbackHandler = SqsCallbackHandler.of(executor, callbackDefinition);
-        executor.schedule(callbackHandler, callback.delay, TimeUnit.MILLISECONDS);
+        String callbackDefinition = persistCallback(callback, servedAt + callback.delay);
+        SAMPLED_LOG.info("instance {} - scheduling callback task to: '{}' with delay '{}' and data '{}'",
+                instance, callback.queue, callback.delay, payload(callback.data));
+        SqsCallbackHandler.of(scheduler, store, callbackDefinition, callback.target())
+                .schedule(remainingDelay(callback.delay, servedAt));
     }
 
-    private void scheduleHttpCallback(DocumentContext servedJson, HttpCallback callback) {
-        HttpCallback normalizedCallback = normalizeHttpCallback(servedJson, callback);
-        File callbackDefinition = persistCallback(normalizedCallback);
-        LOG.info("instance {} - scheduling callback task to: '{}' with delay '{}' and data '{}'",
-                instance, callback.url, callback.delay, callback.data);
-        Runnable callbackHandler = HttpCallbackHandler.of(executor, callbackDefinition);
-        executor.schedule(callbackHandler, callback.delay, TimeUnit.MILLISECONDS);
+    private void scheduleHttpCallback(DocumentContext servedJson, CallbackPlan plan, long servedAt) {
+        HttpCallback callback = createHttpCallback(servedJson, plan);
+        String callbackDefinition = persistCallback(callback, servedAt + callback.delay);
+        SAMPLED_LOG.info("instance {} - scheduling callback task to: '{}' with delay '{}' and data '{}'",
+                instance, callback.url, callback.delay, payload(callback.data));
+        HttpCallbackHandler.of(scheduler, store, callbackDefinition, callback.target())
+                .schedule(remainingDelay(callback.delay, servedAt));
     }
 
     /**
-     * Normalizes the specified {@code callback} according to the specified {@code servedJson} and replaces placeholder
-     * patterns in {@link Callback#data} as well as in {@link Callback#url}.<br>
+     * Schedules the specified {@code pending} callback that was recovered from the {@link CallbackStore} of a previous
+     * run with its remaining delay.
+     *
+     * @param pending the recovered {@link PendingCallback}.
+     */
+    private void schedulePendingCallback(PendingCallback pending) {
+        AbstractCallbackHandler<?> callbackHandler;
+        if (HttpCallback.class.getName().equals(pending.getType())) {
+            callbackHandler = HttpCallbackHandler.of(scheduler, store, pending.getId(),
+                    store.read(pending.getId(), HttpCallback.class).target());
+        } else if (SqsCallback.class.getName().equals(pending.getType())) {
+            callbackHandler = SqsCallbackHandler.of(scheduler, store, pending.getId(),
+                    store.read(pending.getId(), SqsCallback.class).target());
+        } else if (SnsCallback.class.getName().equals(pending.getType())) {
+            callbackHandler = SnsCallbackHandler.of(scheduler, store, pending.getId(),
+                    store.read(pending.getId(), SnsCallback.class).target());
+        } else {
+            LOG.warn("instance {} - unknown recovered callback type '{}' - ignore task '{}'",
+                    instance, pending.getType(), pending.getId());
+            store.delete(pending.getId());
+            return;
+        }
+        long delay = Math.max(0, pending.getDueAt() - System.currentTimeMillis());
+        SAMPLED_LOG.info("instance {} - scheduling recovered callback task '{}' with delay '{}'",
+                instance, pending.getId(), delay);
+        callbackHandler.schedule(delay);
+    }
+
+    /**
+     * Creates the normalized {@link HttpCallback} for the specified {@code plan} according to the specified
+     * {@code servedJson} and replaces placeholder patterns in {@link Callback#data} as well as in
+     * {@link Callback#url}.<br>
      * In addition it ensures that the {@link Callback#traceId} is present.
      *
      * @param servedJson a {@link DocumentContext} representing the request and response bodies as well as the request
      *            path.
-     * @param callback the {@link Callback} to normalize.
-     * @return the normalized {@link Callback} with replaced patterns and keywords according to the specified
+     * @param plan the {@link CallbackPlan} of the HTTP callback.
+     * @return the normalized {@link HttpCallback} with replaced patterns and keywords according to the specified
      *         {@code servedJson}.
      */
-    private HttpCallback normalizeHttpCallback(DocumentContext servedJson, HttpCallback callback) {
-        LOG.debug("url: {} data: {}", callback.url, Objects.describe(callback.data));
-        callback.data = Placeholders.transformJson(servedJson, Json.write(callback.data));
-        callback.url = Placeholders.transformUrl(servedJson, callback.url);
-        if (callback.authentication != null) {
+    private HttpCallback createHttpCallback(DocumentContext servedJson, CallbackPlan plan) {
+        LOG.debug("plan: {}", plan);
+        HttpCallback callback = new HttpCallback();
+        callback.delay = plan.getDelay();
+        callback.data = plan.renderData(servedJson);
+        callback.url = Placeholders.transformUrl(servedJson, plan.getDestination());
+        if (plan.getAuthentication() != null) {
             callback.authentication = Authentication.of(
-                    Placeholders.transformValue(callback.authentication.getUsername()),
-                    Placeholders.transformValue(callback.authentication.getPassword()));
+                    Placeholders.transformValue(plan.getAuthentication().getUsername()),
+                    Placeholders.transformValue(plan.getAuthentication().getPassword()));
         }
+        callback.traceId = plan.getTraceId();
         if (callback.traceId == null) {
             callback.traceId = UUID.randomUUID().toString().replace("-", "");
         }
@@ -175,36 +318,79 @@ public class CallbackSimulator extends PostServeAction {
     }
 
     /**
-     * Persists the specified {@code callback} as temporary file in the file system to be picked up by the
-     * scheduled {@link HttpCallbackHandler} when due to reduce the memory footprint during callback handling.
+     * Persists the specified {@code callback} in the configured {@link CallbackStore} to be picked up by the scheduled
+     * callback handler when due.
      *
      * @param callback the {@link Callback} to persist.
-     * @return the temporary {@link File} containing the normalized callback definition.
+     * @param dueAt the time in epoch milliseconds the callback is due.
+     * @return the identifier of the persisted callback definition.
      */
-    private File persistCallback(Object callback) {
-        try {
-            File result = File.createTempFile("callback-json-", ".tmp");
-            LOG.debug("callback-json file: {}", result);
-            String jsonContent = Json.write(callback);
-            LOG.debug("callback-json content: {}", jsonContent);
-            Files.write(result.toPath(), jsonContent.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE);
-            return result;
-        } catch (IOException e) {
-            throw new IllegalStateException("unable to persist callback data", e);
+    private String persistCallback(Object callback, long dueAt) {
+        String result = store.persist(callback, dueAt);
+        LOG.debug("callback persisted: {}", result);
+        return result;
+    }
+
+    /**
+     * Gets the remaining delay of a callback whose {@code delay} started when the request was served.
+     *
+     * @param delay the delay in milliseconds of the callback.
+     * @param servedAt the time in milliseconds the request was served at.
+     * @return the remaining delay in milliseconds.
+     */
+    private static long remainingDelay(long delay, long servedAt) {
+        return Math.max(0, delay - (System.currentTimeMillis() - servedAt));
+    }
+
+    /**
+     * Creates the {@link ExecutorService} performing due callbacks. If {@code virtual} is requested and supported by
+     * the runtime each callback is performed on a new virtual thread; otherwise a fixed pool of {@code poolSize}
+     * daemon threads is used.
+     *
+     * @param virtual {@code true} to perform callbacks on virtual threads.
+     * @param poolSize the number of platform threads to use otherwise.
+     * @return the {@link ExecutorService} to perform due callbacks with.
+     */
+    static ExecutorService createDeliveryExecutor(boolean virtual, int poolSize) {
+        if (virtual) {
+            try {
+                // looked up reflectively to keep the extensions compatible with Java 8
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                ExecutorService result = (ExecutorService) factory.invoke(null);
+                LOG.info("using virtual threads to perform callbacks");
+                return result;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.warn("virtual threads unsupported by java {} - using {} platform threads",
+                        System.getProperty("java.version"), poolSize);
+            }
+        }
+        return Executors.newFixedThreadPool(poolSize, new DaemonThreadFactory("callback-delivery-"));
+    }
+
+    /**
+     * Represents the {@link CallbackPlan}s bound for a stub mapping along with the parameters they were bound from.
+     */
+    private static final class BoundPlans {
+        private final Parameters parameters;
+        private final List<CallbackPlan> plans;
+
+        private BoundPlans(Parameters parameters, List<CallbackPlan> plans) {
+            this.parameters = parameters;
+            this.plans = plans;
         }
     }
 
     /**
      * Implements {@link ThreadFactory} producing daemon threads ({@link Thread#isDaemon()} is {@code true}) to use
-     * with {@link ScheduledExecutorService} to avoid that {@link CallbackSimulator} blocks WireMock shutdown.
+     * with {@link ExecutorService}s to avoid that {@link CallbackSimulator} blocks WireMock shutdown.
      */
     private static final class DaemonThreadFactory implements ThreadFactory {
         private static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
         private final AtomicInteger threadNumber = new AtomicInteger(1);
         private final String name;
 
-        private DaemonThreadFactory() {
-            name = "callback-timer-" + POOL_NUMBER.getAndIncrement() + "-thread-";
+        private DaemonThreadFactory(String prefix) {
+            name = prefix + POOL_NUMBER.getAndIncrement() + "-thread-";
         }
 
         @Override
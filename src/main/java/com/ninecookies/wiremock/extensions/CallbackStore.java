@@ -0,0 +1,95 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Defines the storage for normalized callback definitions between scheduling and handling of a callback.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ * @see MemoryCallbackStore
+ * @see FileCallbackStore
+ * @see JournalCallbackStore
+ */
+public interface CallbackStore {
+
+    /**
+     * Represents a callback that was persisted but not deleted before, e.g. by a previous run.
+     */
+    final class PendingCallback {
+        private final String id;
+        private final String type;
+        private final long dueAt;
+
+        public PendingCallback(String id, String type, long dueAt) {
+            this.id = id;
+            this.type = type;
+            this.dueAt = dueAt;
+        }
+
+        /**
+         * Gets the identifier of the pending callback.
+         *
+         * @return the id.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Gets the class name of the pending callback definition.
+         *
+         * @return the type.
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Gets the time in epoch milliseconds the callback is due.
+         *
+         * @return the dueAt.
+         */
+        public long getDueAt() {
+            return dueAt;
+        }
+    }
+
+    /**
+     * Persists the specified {@code callback} until it is {@link #delete(String) deleted}.
+     *
+     * @param callback the normalized callback definition to persist.
+     * @param dueAt the time in epoch milliseconds the callback is due.
+     * @return the identifier to {@link #read(String, Class) read} and {@link #delete(String) delete} the callback.
+     */
+    String persist(Object callback, long dueAt);
+
+    /**
+     * Reads the callback definition for the specified {@code id}.
+     *
+     * @param <T> the type of the callback definition.
+     * @param id the identifier returned by {@link #persist(Object, long)}.
+     * @param type the {@link Class} type of the callback definition.
+     * @return the callback definition.
+     * @throws IllegalStateException if the callback couldn't be read.
+     */
+    <T> T read(String id, Class<T> type);
+
+    /**
+     * Deletes the callback definition for the specified {@code id}.
+     *
+     * @param id the identifier returned by {@link #persist(Object, long)}.
+     */
+    void delete(String id);
+
+    /**
+     * Recovers the callbacks that were persisted but not deleted by a previous run. Only the first invocation returns
+     * the pending callbacks so that they are scheduled once only.
+     *
+     * @return the {@link PendingCallback}s ordered by their due time; an empty list if the store is not durable.
+     */
+    default List<PendingCallback> recover() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,273 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import com.ninecookies.wiremock.extensions.util.JsonTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * Provides the metrics of the extensions kept in a Prometheus {@link MeterRegistry}.
+ * <p>
+ * Provided callback metrics
+ * <ul>
+ * <li>{@code callbacks.scheduled} the number of scheduled callbacks by {@code type}.
+ * <li>{@code callbacks.pending} the number of callbacks scheduled but not yet completed.
+ * <li>{@code callbacks.ingestion.queued} the number of served requests waiting for an ingestion thread by {@code instance}.
+ * <li>{@code callbacks.timer.queued} the number of callbacks waiting for their delay to elapse by {@code instance}.
+ * <li>{@code callbacks.delivery.queued} the number of due callbacks waiting for a free delivery slot by {@code instance}.
+ * <li>{@code callbacks.delivery} the duration of callback attempts by {@code type}, {@code target} and
+ * {@code outcome} ({@code success}, {@code retry} or {@code failed}).
+ * <li>{@code callbacks.lateness} the time callback attempts started after they were due by {@code type}.
+ * </ul>
+ * Provided transformer and matcher metrics
+ * <ul>
+ * <li>{@code transformer.phase} the duration of the {@code template}, {@code parse}, {@code resolve} and
+ * {@code render} phases of response transformations by {@code stub} and {@code phase}.
+ * <li>{@code transformer.bytes} the size of response templates ({@code in}) and rendered responses ({@code out}) by
+ * {@code stub} and {@code direction}.
+ * <li>{@code transformer.placeholders} the number of distinct placeholders of transformed responses by {@code stub}.
+ * <li>{@code transformer.skipped} the number of responses left untouched by {@code reason}.
+ * <li>{@code templates.cache} the number of template lookups by {@code result} ({@code hit} or {@code miss}).
+ * <li>{@code matcher.evaluation} the duration of request matcher evaluations by {@code matcher} and {@code result}
+ * ({@code match} or {@code nomatch}).
+ * </ul>
+ * The metrics are exposed in Prometheus format by the {@link MetricsAdminExtension}. Meters recorded per response are
+ * resolved once per tag combination and kept in bounded caches, so that recording doesn't build meter ids.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public final class ExtensionMetrics {
+
+    private static final ExtensionMetrics INSTANCE = new ExtensionMetrics();
+    private static final int MAX_CACHED_METERS = 1000;
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final AtomicInteger pendingCallbacks = new AtomicInteger();
+    private final Map<String, Timer> latenessTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> deliveryTimers = new ConcurrentHashMap<>();
+    private final Map<String, TransformerMeters> transformerMeters = new ConcurrentHashMap<>();
+
+    private ExtensionMetrics() {
+        Gauge.builder("callbacks.pending", pendingCallbacks, AtomicInteger::get)
+                .description("callbacks scheduled but not yet completed")
+                .register(registry);
+        FunctionCounter.builder("templates.cache", this, m -> JsonTemplate.getCacheHits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("templates.cache", this, m -> JsonTemplate.getCacheMisses())
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /**
+     * Gets the {@link MeterRegistry} containing the extensions metrics.
+     *
+     * @return the {@link MeterRegistry}.
+     */
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Gets the current metrics in the Prometheus text format.
+     *
+     * @return the Prometheus scrape of the metrics.
+     */
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    /**
+     * Registers a gauge with the specified {@code name} tagged by the specified {@code instance} that reports the
+     * value computed by {@code value} for {@code object}. The registry keeps a weak reference to the {@code object}
+     * only. The {@code instance} tag keeps the gauges of several {@link CallbackSimulator} instances apart, since the
+     * registry returns an already registered gauge instead of registering a new one.
+     *
+     * @param name the name of the gauge.
+     * @param instance the number of the {@link CallbackSimulator} instance owning the {@code object}.
+     * @param object the object to compute the gauge value for.
+     * @param value the {@link ToDoubleFunction} computing the gauge value.
+     */
+    <T> void gauge(String name, long instance, T object, ToDoubleFunction<T> value) {
+        Gauge.builder(name, object, value)
+                .tag("instance", Long.toString(instance))
+                .register(registry);
+    }
+
+    /**
+     * Records the initial scheduling of a callback.
+     *
+     * @param type the type of the callback.
+     */
+    void callbackScheduled(String type) {
+        Counter.builder("callbacks.scheduled").tag("type", type).register(registry).increment();
+        pendingCallbacks.incrementAndGet();
+    }
+
+    /**
+     * Records the time in milliseconds an attempt of a callback started after it was due.
+     *
+     * @param type the type of the callback.
+     * @param lateness the time in milliseconds the attempt started after it was due.
+     */
+    void callbackStarted(String type, long lateness) {
+        cached(latenessTimers, type, t -> Timer.builder("callbacks.lateness")
+                .tag("type", t)
+                .publishPercentileHistogram()
+                .register(registry))
+                .record(Math.max(0, lateness), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the outcome and duration of a callback attempt.
+     *
+     * @param type the type of the callback.
+     * @param target the destination of the callback.
+     * @param outcome the outcome of the attempt, either {@code success}, {@code retry} or {@code failed}.
+     * @param duration the duration of the attempt in nanoseconds.
+     */
+    void callbackPerformed(String type, String target, String outcome, long duration) {
+        String targetTag = target == null ? "unknown" : target;
+        // no histogram since the number of series grows with every distinct target
+        cached(cached(deliveryTimers, targetTag, t -> new ConcurrentHashMap<>()), type + ':' + outcome,
+                k -> Timer.builder("callbacks.delivery")
+                        .tag("type", type)
+                        .tag("target", targetTag)
+                        .tag("outcome", outcome)
+                        .register(registry))
+                .record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the completion of a {@link #callbackScheduled(String) scheduled} callback that either succeeded or
+     * finally failed.
+     */
+    void callbackCompleted() {
+        pendingCallbacks.decrementAndGet();
+    }
+
+    /**
+     * Records the duration of a response transformation phase.
+     *
+     * @param stub the name of the stub.
+     * @param phase the phase, either {@code template}, {@code parse}, {@code resolve} or {@code render}.
+     * @param duration the duration of the phase in nanoseconds.
+     */
+    void transformPhase(String stub, String phase, long duration) {
+        cached(transformerMeters, stub, TransformerMeters::new).phase(phase).record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the sizes and the number of distinct placeholders of a response transformation.
+     *
+     * @param stub the name of the stub.
+     * @param bytesIn the size of the response template in bytes.
+     * @param bytesOut the size of the rendered response in bytes.
+     * @param placeholders the number of distinct placeholders.
+     */
+    void transformed(String stub, int bytesIn, int bytesOut, int placeholders) {
+        TransformerMeters meters = cached(transformerMeters, stub, TransformerMeters::new);
+        meters.bytesIn.record(bytesIn);
+        meters.bytesOut.record(bytesOut);
+        meters.placeholders.record(placeholders);
+    }
+
+    /**
+     * Records a response left untouched by the transformer.
+     *
+     * @param reason the reason, e.g. {@code content-type}, {@code empty} or {@code no-placeholders}.
+     */
+    void transformSkipped(String reason) {
+        Counter.builder("transformer.skipped").tag("reason", reason).register(registry).increment();
+    }
+
+    /**
+     * Records the evaluation of a request matcher.
+     *
+     * @param matcher the name of the matcher.
+     * @param matched {@code true} if the request matched; otherwise {@code false}.
+     * @param duration the duration of the evaluation in nanoseconds.
+     */
+    void matched(String matcher, boolean matched, long duration) {
+        Timer.builder("matcher.evaluation")
+                .tag("matcher", matcher)
+                .tag("result", matched ? "match" : "nomatch")
+                .register(registry)
+                .record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the value for the specified {@code key} from the specified {@code cache} or creates it by the specified
+     * {@code factory}. The cache is cleared if it exceeds {@link #MAX_CACHED_METERS} since the registry still provides
+     * the meters of dropped entries.
+     *
+     * @param cache the cache to look up the value in.
+     * @param key the key of the value.
+     * @param factory the {@link Function} creating the value for a missing {@code key}.
+     * @return the cached or created value.
+     */
+    private static <K, V> V cached(Map<K, V> cache, K key, Function<K, V> factory) {
+        V result = cache.get(key);
+        if (result == null) {
+            if (cache.size() >= MAX_CACHED_METERS) {
+                cache.clear();
+            }
+            result = cache.computeIfAbsent(key, factory);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the {@link ExtensionMetrics} instance.
+     *
+     * @return the {@link ExtensionMetrics}.
+     */
+    public static ExtensionMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Represents the meters of response transformations for a single stub.
+     */
+    private final class TransformerMeters {
+        private final String stub;
+        private final Map<String, Timer> phases = new ConcurrentHashMap<>();
+        private final DistributionSummary bytesIn;
+        private final DistributionSummary bytesOut;
+        private final DistributionSummary placeholders;
+
+        private TransformerMeters(String stub) {
+            this.stub = stub;
+            this.bytesIn = DistributionSummary.builder("transformer.bytes").baseUnit("bytes")
+                    .tag("stub", stub).tag("direction", "in")
+                    .register(registry);
+            this.bytesOut = DistributionSummary.builder("transformer.bytes").baseUnit("bytes")
+                    .tag("stub", stub).tag("direction", "out")
+                    .register(registry);
+            this.placeholders = DistributionSummary.builder("transformer.placeholders")
+                    .tag("stub", stub)
+                    .register(registry);
+        }
+
+        private Timer phase(String phase) {
+            return cached(phases, phase, p -> Timer.builder("transformer.phase")
+                    .tag("stub", stub)
+                    .tag("phase", p)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tomakehurst.wiremock.common.Json;
+
+/**
+ * Implements the {@link CallbackStore} persisting each callback definition as temporary file in the file system to
+ * reduce the memory footprint during callback handling.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class FileCallbackStore implements CallbackStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileCallbackStore.class);
+
+    @Override
+    public String persist(Object callback, long dueAt) {
+        try {
+            File result = File.createTempFile("callback-json-", ".tmp");
+            LOG.debug("callback-json file: {}", result);
+            Files.write(result.toPath(), Json.toByteArray(callback), StandardOpenOption.CREATE);
+            return result.getAbsolutePath();
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to persist callback data", e);
+        }
+    }
+
+    @Override
+    public <T> T read(String id, Class<T> type) {
+        try {
+            return Json.getObjectMapper().readValue(Files.readAllBytes(Paths.get(id)), type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read callback content from file system", e);
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        try {
+            Files.deleteIfExists(Paths.get(id));
+        } catch (IOException e) {
+            LOG.error("unable to delete callback definition file", e);
+        }
+    }
+}
@@ -1,19 +1,17 @@
 package com.ninecookies.wiremock.extensions;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URI;
-import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
-import org.apache.http.HttpResponse;
 import org.apache.http.ParseException;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.AuthCache;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIUtils;
@@ -23,7 +21,6 @@ import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 
@@ -33,6 +30,8 @@ import com.ninecookies.wiremock.extensions.api.Authentication;
 /**
  * Implements {@link Runnable} and uses {@link HttpPost} in combination with {@link HttpEntity} and
  * {@link HttpContext} to emit a POST request according to the referenced callback definition.
+ * <p>
+ * Requests are executed with the shared, connection pooling {@link CallbackConfiguration#getHttpClient()}.
  */
 public class HttpCallbackHandler extends AbstractCallbackHandler<HttpCallback> {
 
@@ -49,6 +48,20 @@ public class HttpCallbackHandler extends AbstractCallbackHandler<HttpCallback> {
          * The request id to use for the callback.
          */
         public String traceId;
+
+        @Override
+        protected String target() {
+            try {
+                // limit per scheme, host and port rather than per resource
+                URI uri = URI.create(url);
+                if (uri.getAuthority() != null) {
+                    return uri.getScheme() + "://" + uri.getAuthority();
+                }
+            } catch (IllegalArgumentException e) {
+                /* use the URL as is */
+            }
+            return url;
+        }
     }
 
     private static final String RPS_TRACEID_HEADER = "X-Rps-TraceId";
@@ -58,8 +71,9 @@ public class HttpCallbackHandler extends AbstractCallbackHandler<HttpCallback> {
             .setConnectionRequestTimeout(5_000)
             .build();
 
-    private HttpCallbackHandler(ScheduledExecutorService executor, File callbackFile) {
-        super(executor, callbackFile, HttpCallback.class);
+    private HttpCallbackHandler(CallbackScheduler scheduler, CallbackStore store, String callbackId,
+            String target) {
+        super(scheduler, store, callbackId, target, HttpCallback.class);
     }
 
     @Override
@@ -74,12 +88,14 @@ public class HttpCallbackHandler extends AbstractCallbackHandler<HttpCallback> {
             post.addHeader(RPS_TRACEID_HEADER, callback.traceId);
             post.setEntity(content);
 
-            try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
-                HttpResponse response = client.execute(post, context);
+            CloseableHttpClient client = CallbackConfiguration.getInstance().getHttpClient();
+            try (CloseableHttpResponse response = client.execute(post, context)) {
                 int status = response.getStatusLine().getStatusCode();
                 if (status >= 200 && status < 300) {
+                    // consume the response to release the connection back to the pool
+                    EntityUtils.consumeQuietly(response.getEntity());
                     // in case of success, just print the status line
-                    getLog().info("post to '{}' succeeded: response: {}", uri, response.getStatusLine());
+                    getSampledLog().info("post to '{}' succeeded: response: {}", uri, response.getStatusLine());
                 } else {
                     throw new RetryCallbackException(String.format(
                             "post to '%s' failed: response: %s\n%s",
@@ -134,7 +150,8 @@ public class HttpCallbackHandler extends AbstractCallbackHandler<HttpCallback> {
         return context;
     }
 
-    public static Runnable of(ScheduledExecutorService executor, File callbackFile) {
-        return new HttpCallbackHandler(executor, callbackFile);
+    public static HttpCallbackHandler of(CallbackScheduler scheduler, CallbackStore store, String callbackId,
+            String target) {
+        return new HttpCallbackHandler(scheduler, store, callbackId, target);
     }
 }
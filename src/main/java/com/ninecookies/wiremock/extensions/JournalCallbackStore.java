@@ -0,0 +1,385 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tomakehurst.wiremock.common.Json;
+
+/**
+ * Implements the {@link CallbackStore} as segment based, memory-mapped append-only journal to keep pending callbacks
+ * durable across WireMock restarts.
+ * <p>
+ * Each persisted callback is appended as record containing its type, due time and serialized definition. Deleting a
+ * callback appends a tombstone record. Segments are released as soon as they and all older segments don't contain
+ * pending callbacks anymore. Whenever a new segment is started and less than half of the data in the older segments
+ * is still pending, the pending records are copied to the new segment and the older segments are removed.
+ * <p>
+ * On construction the existing segments are replayed and the callbacks still pending are provided by
+ * {@link #recover()}.
+ * <p>
+ * Note: records are written to the memory-mapped segments without forcing them to the storage device thus they
+ * survive a restart of the process but not necessarily a crash of the operating system.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class JournalCallbackStore implements CallbackStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournalCallbackStore.class);
+    private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "callbacks-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final byte PUT = 1;
+    private static final byte TOMBSTONE = 2;
+    // length (int) + kind (byte) + sequence (long)
+    private static final int HEADER_SIZE = 4 + 1 + 8;
+    // due (long) + type length (short)
+    private static final int PUT_HEADER_SIZE = HEADER_SIZE + 8 + 2;
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private Segment active;
+    private long sequence;
+    private boolean compacting;
+    private List<PendingCallback> pending;
+
+    /**
+     * Initialize a new instance of the {@link JournalCallbackStore} with the specified arguments.
+     *
+     * @param directory the directory {@link Path} to keep the journal segments in.
+     * @throws IOException if the journal couldn't be opened.
+     */
+    public JournalCallbackStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    // visible for testing
+    JournalCallbackStore(Path directory, int segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        load();
+    }
+
+    @Override
+    public String persist(Object callback, long dueAt) {
+        byte[] payload = Json.toByteArray(callback);
+        byte[] type = callback.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            long id = ++sequence;
+            int length = PUT_HEADER_SIZE + type.length + payload.length;
+            ByteBuffer buffer = allocate(length);
+            int offset = buffer.position();
+            buffer.put(offset + 4, PUT);
+            buffer.putLong(offset + 5, id);
+            buffer.putLong(offset + HEADER_SIZE, dueAt);
+            buffer.putShort(offset + HEADER_SIZE + 8, (short) type.length);
+            buffer.position(offset + PUT_HEADER_SIZE);
+            buffer.put(type);
+            buffer.put(payload);
+            commit(offset, length);
+            track(new Entry(id, active, offset, length, type.length));
+            return Long.toString(id);
+        }
+    }
+
+    @Override
+    public <T> T read(String id, Class<T> type) {
+        byte[] content;
+        synchronized (this) {
+            Entry entry = entries.get(parseId(id));
+            if (entry == null) {
+                throw new IllegalStateException("Unable to read unknown callback '" + id + "'");
+            }
+            ByteBuffer buffer = entry.segment.buffer.duplicate();
+            buffer.position(entry.payloadOffset());
+            content = new byte[entry.payloadLength()];
+            buffer.get(content);
+        }
+        try {
+            return Json.getObjectMapper().readValue(content, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read callback content from journal", e);
+        }
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        long sequenceId = parseId(id);
+        Entry entry = entries.remove(sequenceId);
+        if (entry == null) {
+            return;
+        }
+        entry.segment.release(entry);
+        ByteBuffer buffer = allocate(HEADER_SIZE);
+        int offset = buffer.position();
+        buffer.put(offset + 4, TOMBSTONE);
+        buffer.putLong(offset + 5, sequenceId);
+        commit(offset, HEADER_SIZE);
+        releaseSegments();
+    }
+
+    @Override
+    public synchronized List<PendingCallback> recover() {
+        List<PendingCallback> result = pending;
+        pending = Collections.emptyList();
+        return result;
+    }
+
+    /**
+     * Gets the number of segments currently used by the journal.
+     *
+     * @return the number of segments.
+     */
+    public synchronized int segments() {
+        return segments.size();
+    }
+
+    private void load() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long number = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(number, Segment.open(number, file, segmentSize));
+            }
+        }
+        for (Segment segment : segments.values()) {
+            replay(segment);
+        }
+        List<PendingCallback> result = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            ByteBuffer buffer = entry.segment.buffer;
+            byte[] type = new byte[entry.typeLength];
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.position(entry.offset + PUT_HEADER_SIZE);
+            duplicate.get(type);
+            result.add(new PendingCallback(Long.toString(entry.id), new String(type, StandardCharsets.UTF_8),
+                    buffer.getLong(entry.offset + HEADER_SIZE)));
+        }
+        result.sort(Comparator.comparingLong(PendingCallback::getDueAt));
+        pending = result;
+        if (!segments.isEmpty()) {
+            active = segments.lastEntry().getValue();
+        }
+        releaseSegments();
+        LOG.info("journal '{}' opened with {} segments and {} pending callbacks", directory, segments.size(),
+                pending.size());
+    }
+
+    private void replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length < HEADER_SIZE || offset + length > buffer.capacity()) {
+                // end of written records
+                break;
+            }
+            byte kind = buffer.get(offset + 4);
+            long id = buffer.getLong(offset + 5);
+            if (kind == PUT) {
+                int typeLength = buffer.getShort(offset + HEADER_SIZE + 8);
+                // a compaction may have been interrupted thus the same record may occur twice
+                Entry previous = entries.remove(id);
+                if (previous != null) {
+                    previous.segment.release(previous);
+                }
+                track(new Entry(id, segment, offset, length, typeLength));
+            } else if (kind == TOMBSTONE) {
+                Entry entry = entries.remove(id);
+                if (entry != null) {
+                    entry.segment.release(entry);
+                }
+            }
+            sequence = Math.max(sequence, id);
+            offset += length;
+        }
+        segment.position = offset;
+    }
+
+    private void track(Entry entry) {
+        entries.put(entry.id, entry);
+        entry.segment.live++;
+        entry.segment.liveBytes += entry.length;
+    }
+
+    private ByteBuffer allocate(int length) {
+        // a compaction during roll may have used up the new segment again
+        while (active == null || active.position + length > active.buffer.capacity()) {
+            roll(length);
+        }
+        ByteBuffer result = active.buffer.duplicate();
+        result.position(active.position);
+        return result;
+    }
+
+    private void commit(int offset, int length) {
+        // the length is written last so that incomplete records are never replayed
+        active.buffer.putInt(offset, length);
+        active.position = offset + length;
+    }
+
+    private void roll(int length) {
+        long number = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path file = directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+        try {
+            active = Segment.open(number, file, Math.max(segmentSize, length));
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to create journal segment '" + file + "'", e);
+        }
+        segments.put(number, active);
+        LOG.debug("journal segment '{}' started", file);
+        compactIfApplicable();
+    }
+
+    private void compactIfApplicable() {
+        if (compacting) {
+            return;
+        }
+        List<Segment> candidates = new ArrayList<>();
+        long usedBytes = 0;
+        long liveBytes = 0;
+        for (Segment segment : segments.values()) {
+            if (segment != active) {
+                candidates.add(segment);
+                usedBytes += segment.position;
+                liveBytes += segment.liveBytes;
+            }
+        }
+        if (usedBytes == 0 || liveBytes > usedBytes * COMPACTION_THRESHOLD) {
+            return;
+        }
+        compacting = true;
+        try {
+            for (Entry entry : new ArrayList<>(entries.values())) {
+                if (!candidates.contains(entry.segment)) {
+                    continue;
+                }
+                ByteBuffer source = entry.segment.buffer.duplicate();
+                source.position(entry.offset + 4);
+                source.limit(entry.offset + entry.length);
+                ByteBuffer target = allocate(entry.length);
+                int offset = target.position();
+                target.position(offset + 4);
+                target.put(source);
+                commit(offset, entry.length);
+                entry.segment.release(entry);
+                track(new Entry(entry.id, active, offset, entry.length, entry.typeLength));
+            }
+            for (Segment segment : candidates) {
+                remove(segment);
+            }
+            LOG.debug("journal compacted - {} segments removed", candidates.size());
+        } finally {
+            compacting = false;
+        }
+    }
+
+    private void releaseSegments() {
+        // tombstones must not be dropped before the related records thus release the oldest segments only
+        while (!segments.isEmpty()) {
+            Segment oldest = segments.firstEntry().getValue();
+            if (oldest == active || oldest.live > 0) {
+                return;
+            }
+            remove(oldest);
+        }
+    }
+
+    private void remove(Segment segment) {
+        segments.remove(segment.number);
+        try {
+            Files.deleteIfExists(segment.file);
+            LOG.debug("journal segment '{}' removed", segment.file);
+        } catch (IOException e) {
+            LOG.error("unable to delete journal segment '{}'", segment.file, e);
+        }
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid callback id '" + id + "'", e);
+        }
+    }
+
+    /**
+     * Represents a memory-mapped journal segment file.
+     */
+    private static final class Segment {
+        private final long number;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int live;
+        private long liveBytes;
+
+        private Segment(long number, Path file, MappedByteBuffer buffer) {
+            this.number = number;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private void release(Entry entry) {
+            live--;
+            liveBytes -= entry.length;
+        }
+
+        private static Segment open(long number, Path file, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                long capacity = Math.max(size, channel.size());
+                return new Segment(number, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            }
+        }
+    }
+
+    /**
+     * Represents the location of a pending callback record.
+     */
+    private static final class Entry {
+        private final long id;
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final int typeLength;
+
+        private Entry(long id, Segment segment, int offset, int length, int typeLength) {
+            this.id = id;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.typeLength = typeLength;
+        }
+
+        private int payloadOffset() {
+            return offset + PUT_HEADER_SIZE + typeLength;
+        }
+
+        private int payloadLength() {
+            return length - PUT_HEADER_SIZE - typeLength;
+        }
+    }
+}
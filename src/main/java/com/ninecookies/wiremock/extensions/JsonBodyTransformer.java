@@ -1,5 +1,7 @@
 package com.ninecookies.wiremock.extensions;
 
+import static com.ninecookies.wiremock.extensions.util.Objects.lazy;
+
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -15,27 +17,58 @@ import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.http.Response;
 import com.jayway.jsonpath.DocumentContext;
+import com.ninecookies.wiremock.extensions.util.JsonTemplate;
 import com.ninecookies.wiremock.extensions.util.Placeholders;
+import com.ninecookies.wiremock.extensions.util.SampledLogger;
 
 public class JsonBodyTransformer extends ResponseTransformer {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonBodyTransformer.class);
+    private static final SampledLogger SAMPLED_LOG = SampledLogger.of(LOG);
 
     private static final String CONTENT_TYPE_APPLICATION_JSON = "application/json";
+    private static final String URL_PARTS = "urlParts";
+    private static final String STUB_PARAMETER = "stub";
+    private static final String UNNAMED_STUB = "unnamed";
     private static final Set<RequestMethod> METHODS_WITH_CONTENT = new HashSet<>(
             Arrays.asList(RequestMethod.PUT, RequestMethod.POST, RequestMethod.PATCH));
 
     @Override
     public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
-        LOG.info("transform('{}', '{}')", request.getMethod(), request.getAbsoluteUrl());
-        if (!requiresTransformation(response)) {
+        SAMPLED_LOG.info("transform('{}', '{}')", request.getMethod(), lazy(request::getAbsoluteUrl));
+        ExtensionMetrics metrics = ExtensionMetrics.getInstance();
+        if (!isJsonResponse(response)) {
+            metrics.transformSkipped("content-type");
             return response;
         }
-        String responseBody = response.getBodyAsString();
-        DocumentContext placeholderSource = preparePlaceholderSource(request);
-        String transformedResponseBody = Placeholders.transformJson(placeholderSource, responseBody);
-        Response result = Response.Builder.like(response).but().body(transformedResponseBody).build();
-        return result;
+        // read the body bytes once and render the compiled template directly into the new body bytes
+        byte[] responseBody = response.getBody();
+        if (responseBody == null || responseBody.length == 0) {
+            LOG.debug("skip transformation of empty response");
+            metrics.transformSkipped("empty");
+            return response;
+        }
+        String stub = stubName(parameters);
+        long started = System.nanoTime();
+        JsonTemplate template = JsonTemplate.of(responseBody);
+        long compiled = System.nanoTime();
+        metrics.transformPhase(stub, "template", compiled - started);
+        if (!template.hasPlaceholders()) {
+            LOG.debug("skip transformation of response without placeholders");
+            metrics.transformSkipped("no-placeholders");
+            return response;
+        }
+        DocumentContext placeholderSource = preparePlaceholderSource(request, template.getRoots());
+        long parsed = System.nanoTime();
+        Object[] values = template.resolve(placeholderSource);
+        long resolved = System.nanoTime();
+        byte[] result = template.renderBytes(values);
+        long rendered = System.nanoTime();
+        metrics.transformPhase(stub, "parse", parsed - compiled);
+        metrics.transformPhase(stub, "resolve", resolved - parsed);
+        metrics.transformPhase(stub, "render", rendered - resolved);
+        metrics.transformed(stub, responseBody.length, result.length, template.getPlaceholderCount());
+        return Response.Builder.like(response).but().body(result).build();
     }
 
     @Override
@@ -48,25 +81,38 @@ public class JsonBodyTransformer extends ResponseTransformer {
         return false;
     }
 
-    private boolean requiresTransformation(Response response) {
-        // nothing to do for an empty body
-        if (response.getBody() == null || response.getBody().length == 0) {
-            LOG.debug("skip transformation of empty response");
-            return false;
+    private String stubName(Parameters parameters) {
+        // response transformers don't know the served stub mapping thus it must be named by a parameter
+        if (parameters != null && parameters.containsKey(STUB_PARAMETER)) {
+            return String.valueOf(parameters.get(STUB_PARAMETER));
         }
+        return UNNAMED_STUB;
+    }
+
+    private boolean isJsonResponse(Response response) {
         // nothing to do for response content type other than application/json
         if (!response.getHeaders().getContentTypeHeader().isPresent()
                 || !CONTENT_TYPE_APPLICATION_JSON.equals(response.getHeaders().getContentTypeHeader().mimeTypePart())) {
             LOG.debug("skip transformation of unknown response (headers: '{}')",
-                    response.getHeaders().toString().trim());
+                    lazy(() -> response.getHeaders().toString().trim()));
             return false;
         }
         return true;
     }
 
-    private DocumentContext preparePlaceholderSource(Request request) {
+    private DocumentContext preparePlaceholderSource(Request request, Set<String> roots) {
+        if (roots.isEmpty()) {
+            LOG.debug("skip request parsing for keyword only template");
+            return null;
+        }
+        // a null root means that the placeholder may refer to anything
+        boolean requiresUrlParts = roots.contains(URL_PARTS) || roots.contains(null);
+        boolean requiresBody = roots.size() > (roots.contains(URL_PARTS) ? 1 : 0);
+
         String json = "{}";
-        if (METHODS_WITH_CONTENT.contains(request.getMethod())) {
+        if (!requiresBody) {
+            LOG.debug("skip request parsing for template referencing '{}' only", URL_PARTS);
+        } else if (METHODS_WITH_CONTENT.contains(request.getMethod())) {
             if (!request.contentTypeHeader().isPresent()
                     || !CONTENT_TYPE_APPLICATION_JSON.equals(request.contentTypeHeader().mimeTypePart())) {
                 LOG.debug("skip request parsing due to content type '{}'", request.contentTypeHeader());
@@ -77,8 +123,11 @@ public class JsonBodyTransformer extends ResponseTransformer {
             LOG.debug("skip request parsing due to method '{}'", request.getMethod());
         }
 
-        List<String> urlParts = Placeholders.splitUrl(request.getUrl());
         DocumentContext result = Placeholders.documentContextOf(json);
-        return result.put("$", "urlParts", urlParts);
+        if (requiresUrlParts) {
+            List<String> urlParts = Placeholders.splitUrl(request.getUrl());
+            result.put("$", URL_PARTS, urlParts);
+        }
+        return result;
     }
 }
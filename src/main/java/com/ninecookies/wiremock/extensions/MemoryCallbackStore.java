@@ -0,0 +1,61 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tomakehurst.wiremock.common.Json;
+
+/**
+ * Implements the {@link CallbackStore} keeping the callback definitions as compact serialized JSON bytes in memory.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class MemoryCallbackStore implements CallbackStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemoryCallbackStore.class);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, byte[]> callbacks = new ConcurrentHashMap<>();
+
+    @Override
+    public String persist(Object callback, long dueAt) {
+        String result = Long.toString(sequence.incrementAndGet());
+        byte[] content = Json.toByteArray(callback);
+        callbacks.put(result, content);
+        LOG.debug("callback {} persisted with {} bytes", result, content.length);
+        return result;
+    }
+
+    @Override
+    public <T> T read(String id, Class<T> type) {
+        byte[] content = callbacks.get(id);
+        if (content == null) {
+            throw new IllegalStateException("Unable to read unknown callback '" + id + "'");
+        }
+        try {
+            return Json.getObjectMapper().readValue(content, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read callback content from memory", e);
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        callbacks.remove(id);
+    }
+
+    /**
+     * Gets the number of callbacks currently stored.
+     *
+     * @return the number of stored callbacks.
+     */
+    public int size() {
+        return callbacks.size();
+    }
+}
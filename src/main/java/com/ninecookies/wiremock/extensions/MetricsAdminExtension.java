@@ -0,0 +1,32 @@
+package com.ninecookies.wiremock.extensions;
+
+import com.github.tomakehurst.wiremock.admin.Router;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.AdminApiExtension;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+
+import io.prometheus.client.exporter.common.TextFormat;
+
+/**
+ * Implements the {@link AdminApiExtension} interface and exposes the {@link ExtensionMetrics} in Prometheus text format
+ * at {@code /__admin/metrics}.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class MetricsAdminExtension implements AdminApiExtension {
+
+    @Override
+    public String getName() {
+        return "metrics";
+    }
+
+    @Override
+    public void contributeAdminApiRoutes(Router router) {
+        router.add(RequestMethod.GET, "/metrics", (admin, request, pathParams) -> new ResponseDefinitionBuilder()
+                .withStatus(200)
+                .withHeader("Content-Type", TextFormat.CONTENT_TYPE_004)
+                .withBody(ExtensionMetrics.getInstance().scrape())
+                .build());
+    }
+}
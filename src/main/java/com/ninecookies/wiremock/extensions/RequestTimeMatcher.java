@@ -1,17 +1,13 @@
 package com.ninecookies.wiremock.extensions;
 
-import java.time.Instant;
-import java.util.regex.Pattern;
-
 import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.matching.MatchResult;
 import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
-import com.ninecookies.wiremock.extensions.util.Strings;
 
 /**
  * Extends the {@link RequestMatcherExtension} and provides the ability to match the UTC request time against a provided
- * regular expression.
+ * regular expression or structured time window parameters (see {@link RequestTimeWindow}).
  *
  * @author M.Scheepers
  * @since 0.0.7
@@ -25,13 +21,9 @@ public class RequestTimeMatcher extends RequestMatcherExtension {
 
     @Override
     public MatchResult match(Request request, Parameters parameters) {
-        if (!parameters.containsKey("pattern")) {
-            return MatchResult.of(false);
-        }
-        String pattern = parameters.getString("pattern");
-        if (Strings.isNullOrEmpty(pattern)) {
-            return MatchResult.of(false);
-        }
-        return MatchResult.of((Pattern.matches(pattern, Instant.now().toString())));
+        long started = System.nanoTime();
+        boolean matched = RequestTimeWindow.of(parameters).matches(System.currentTimeMillis());
+        ExtensionMetrics.getInstance().matched(getName(), matched, System.nanoTime() - started);
+        return MatchResult.of(matched);
     }
 }
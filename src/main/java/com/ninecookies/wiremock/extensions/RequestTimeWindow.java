@@ -0,0 +1,334 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.ninecookies.wiremock.extensions.util.Strings;
+
+/**
+ * Represents the compiled parameters of a {@link RequestTimeMatcher} that are evaluated against epoch milliseconds.
+ * <p>
+ * The structured parameters are evaluated numerically and all specified parameters must match:
+ * <ul>
+ * <li>{@code after} the ISO-8601 instant the window starts at (inclusive).
+ * <li>{@code before} the ISO-8601 instant the window ends at (exclusive).
+ * <li>{@code timeZone} the zone ID the recurring parameters are evaluated in, defaults to {@code UTC}.
+ * <li>{@code daysOfWeek} a comma separated list of days or day ranges, e.g. {@code MON-FRI} or {@code SAT,SUN}.
+ * <li>{@code hours} a comma separated list of hours or hour ranges, e.g. {@code 9-17}.
+ * <li>{@code minutes} a comma separated list of minutes or minute ranges, e.g. {@code 10-19,40-49}.
+ * <li>{@code timesOfDay} a comma separated list of daily time ranges with exclusive end, e.g. {@code 08:30-17:15}.
+ * </ul>
+ * Ranges whose start is after their end wrap around, e.g. {@code FRI-MON} or {@code 22:00-06:00}.
+ * <p>
+ * As the recurring parameters have minute precision, the state of a window is computed once per minute (or once per
+ * {@code after} / {@code before} range if there are none) and subsequent evaluations within that interval just
+ * compare the time against its bounds.
+ * <p>
+ * The {@code pattern} parameter is the regular expression to match the ISO-8601 representation of the UTC request
+ * time against. The time is only formatted if a {@code pattern} is specified.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+final class RequestTimeWindow {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestTimeWindow.class);
+
+    static final String PATTERN = "pattern";
+    static final String AFTER = "after";
+    static final String BEFORE = "before";
+    static final String TIME_ZONE = "timeZone";
+    static final String DAYS_OF_WEEK = "daysOfWeek";
+    static final String HOURS = "hours";
+    static final String MINUTES = "minutes";
+    static final String TIMES_OF_DAY = "timesOfDay";
+
+    private static final int MAX_CACHED_WINDOWS = 1_000;
+    private static final Map<Parameters, RequestTimeWindow> WINDOWS = new ConcurrentHashMap<>();
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+    private static final RequestTimeWindow NEVER = new RequestTimeWindow(null, Long.MAX_VALUE, Long.MIN_VALUE,
+            ZoneOffset.UTC, 0, 0, 0, null);
+
+    private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final int MINUTES_PER_DAY = (int) TimeUnit.DAYS.toMinutes(1);
+    // 1970-01-01 was a thursday
+    private static final int EPOCH_DAY_OF_WEEK = DayOfWeek.THURSDAY.ordinal();
+    private static final long ALL = -1L;
+
+    private final Pattern pattern;
+    private final long after;
+    private final long before;
+    private final ZoneRules zone;
+    private final long daysOfWeek;
+    private final long hours;
+    private final long minutes;
+    private final BitSet timesOfDay;
+    private final boolean recurring;
+    private volatile State state = new State(0, 0, false);
+
+    private RequestTimeWindow(Pattern pattern, long after, long before, ZoneId zone, long daysOfWeek, long hours,
+            long minutes, BitSet timesOfDay) {
+        this.pattern = pattern;
+        this.after = after;
+        this.before = before;
+        this.zone = zone.getRules();
+        this.daysOfWeek = daysOfWeek;
+        this.hours = hours;
+        this.minutes = minutes;
+        this.timesOfDay = timesOfDay;
+        this.recurring = daysOfWeek != ALL || hours != ALL || minutes != ALL || timesOfDay != null;
+    }
+
+    /**
+     * Evaluates whether the specified {@code epochMillis} lies within this window.
+     *
+     * @param epochMillis the time in milliseconds since the epoch.
+     * @return {@code true} if the time lies within this window; otherwise {@code false}.
+     */
+    boolean matches(long epochMillis) {
+        State current = state;
+        if (epochMillis < current.from || epochMillis >= current.until) {
+            current = evaluate(epochMillis);
+            state = current;
+        }
+        if (!current.active) {
+            return false;
+        }
+        return pattern == null || pattern.matcher(Instant.ofEpochMilli(epochMillis).toString()).matches();
+    }
+
+    private State evaluate(long epochMillis) {
+        if (epochMillis < after) {
+            return new State(Long.MIN_VALUE, after, false);
+        }
+        if (epochMillis >= before) {
+            return new State(before, Long.MAX_VALUE, false);
+        }
+        if (!recurring) {
+            return new State(after, before, true);
+        }
+        long offset = TimeUnit.SECONDS.toMillis(zone.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds());
+        long localMinute = Math.floorDiv(epochMillis + offset, MILLIS_PER_MINUTE);
+        int minuteOfDay = (int) Math.floorMod(localMinute, MINUTES_PER_DAY);
+        int dayOfWeek = (int) Math.floorMod(Math.floorDiv(localMinute, MINUTES_PER_DAY) + EPOCH_DAY_OF_WEEK, 7L);
+        boolean active = isSet(daysOfWeek, dayOfWeek)
+                && isSet(hours, minuteOfDay / 60)
+                && isSet(minutes, minuteOfDay % 60)
+                && (timesOfDay == null || timesOfDay.get(minuteOfDay));
+        long from = localMinute * MILLIS_PER_MINUTE - offset;
+        return new State(Math.max(after, from), Math.min(before, from + MILLIS_PER_MINUTE), active);
+    }
+
+    private static boolean isSet(long mask, int value) {
+        return (mask & (1L << value)) != 0;
+    }
+
+    /**
+     * Gets the {@link RequestTimeWindow} for the specified {@code parameters}. Windows are compiled once and cached per
+     * parameters. Parameters without any known or with invalid values yield a window that never matches.
+     *
+     * @param parameters the {@link Parameters} of the {@link RequestTimeMatcher}.
+     * @return the {@link RequestTimeWindow} for the specified {@code parameters}.
+     */
+    static RequestTimeWindow of(Parameters parameters) {
+        RequestTimeWindow result = WINDOWS.get(parameters);
+        if (result == null) {
+            result = compile(parameters);
+            if (WINDOWS.size() >= MAX_CACHED_WINDOWS) {
+                // simple overflow protection for dynamically generated parameters
+                WINDOWS.clear();
+            }
+            WINDOWS.putIfAbsent(parameters, result);
+        }
+        return result;
+    }
+
+    private static RequestTimeWindow compile(Parameters parameters) {
+        if (parameters.containsKey(PATTERN) && Strings.isNullOrEmpty(string(parameters, PATTERN))) {
+            return NEVER;
+        }
+        if (!parameters.containsKey(PATTERN) && !parameters.containsKey(AFTER) && !parameters.containsKey(BEFORE)
+                && !parameters.containsKey(DAYS_OF_WEEK) && !parameters.containsKey(HOURS)
+                && !parameters.containsKey(MINUTES) && !parameters.containsKey(TIMES_OF_DAY)) {
+            return NEVER;
+        }
+        try {
+            return new RequestTimeWindow(
+                    pattern(string(parameters, PATTERN)),
+                    instant(string(parameters, AFTER), Long.MIN_VALUE),
+                    instant(string(parameters, BEFORE), Long.MAX_VALUE),
+                    zone(string(parameters, TIME_ZONE)),
+                    daysOfWeek(string(parameters, DAYS_OF_WEEK)),
+                    range(HOURS, string(parameters, HOURS), 23),
+                    range(MINUTES, string(parameters, MINUTES), 59),
+                    timesOfDay(string(parameters, TIMES_OF_DAY)));
+        } catch (IllegalArgumentException e) {
+            LOG.error("invalid request-time-matcher parameters {} - never matching: {}", parameters, e.getMessage());
+            return NEVER;
+        }
+    }
+
+    private static String string(Parameters parameters, String name) {
+        // numeric hours or minutes are deserialized as integers
+        Object value = parameters.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    private static Pattern pattern(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        Pattern result = PATTERNS.get(pattern);
+        if (result == null) {
+            try {
+                result = Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("invalid pattern '" + pattern + "'", e);
+            }
+            if (PATTERNS.size() >= MAX_CACHED_WINDOWS) {
+                PATTERNS.clear();
+            }
+            PATTERNS.putIfAbsent(pattern, result);
+        }
+        return result;
+    }
+
+    private static long instant(String value, long defaultValue) {
+        if (Strings.isNullOrEmpty(value)) {
+            return defaultValue;
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("invalid instant '" + value + "'", e);
+        }
+    }
+
+    private static ZoneId zone(String value) {
+        if (Strings.isNullOrEmpty(value)) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(value);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("invalid time zone '" + value + "'", e);
+        }
+    }
+
+    private static long daysOfWeek(String value) {
+        if (Strings.isNullOrEmpty(value)) {
+            return ALL;
+        }
+        long result = 0;
+        for (String part : value.split(",")) {
+            String[] bounds = part.trim().split("-", 2);
+            int from = dayOfWeek(bounds[0]);
+            int to = bounds.length > 1 ? dayOfWeek(bounds[1]) : from;
+            result |= bits(from, to, 6);
+        }
+        return result;
+    }
+
+    private static int dayOfWeek(String value) {
+        String day = value.trim().toUpperCase(Locale.ROOT);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (day.length() >= 3 && dayOfWeek.name().startsWith(day)) {
+                return dayOfWeek.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("invalid day of week '" + value + "'");
+    }
+
+    private static long range(String name, String value, int max) {
+        if (Strings.isNullOrEmpty(value)) {
+            return ALL;
+        }
+        long result = 0;
+        for (String part : value.split(",")) {
+            String[] bounds = part.trim().split("-", 2);
+            try {
+                int from = Integer.parseInt(bounds[0].trim());
+                int to = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : from;
+                if (from < 0 || from > max || to < 0 || to > max) {
+                    throw new IllegalArgumentException("invalid " + name + " '" + value + "'");
+                }
+                result |= bits(from, to, max);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid " + name + " '" + value + "'", e);
+            }
+        }
+        return result;
+    }
+
+    private static long bits(int from, int to, int max) {
+        long result = 0;
+        for (int i = from; i != to; i = i == max ? 0 : i + 1) {
+            result |= 1L << i;
+        }
+        return result | 1L << to;
+    }
+
+    private static BitSet timesOfDay(String value) {
+        if (Strings.isNullOrEmpty(value)) {
+            return null;
+        }
+        BitSet result = new BitSet(MINUTES_PER_DAY);
+        for (String part : value.split(",")) {
+            String[] bounds = part.trim().split("-", 2);
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("invalid times of day '" + value + "'");
+            }
+            int from = minuteOfDay(bounds[0]);
+            int to = minuteOfDay(bounds[1]);
+            if (from == to) {
+                throw new IllegalArgumentException("invalid times of day '" + value + "'");
+            }
+            if (from < to) {
+                result.set(from, to);
+            } else {
+                result.set(from, MINUTES_PER_DAY);
+                result.set(0, to);
+            }
+        }
+        return result;
+    }
+
+    private static int minuteOfDay(String value) {
+        try {
+            return LocalTime.parse(value.trim()).toSecondOfDay() / 60;
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("invalid time of day '" + value + "'", e);
+        }
+    }
+
+    /**
+     * Represents the state of a window within the interval from (inclusive) until (exclusive).
+     */
+    private static final class State {
+        private final long from;
+        private final long until;
+        private final boolean active;
+
+        private State(long from, long until, boolean active) {
+            this.from = from;
+            this.until = until;
+            this.active = active;
+        }
+    }
+}
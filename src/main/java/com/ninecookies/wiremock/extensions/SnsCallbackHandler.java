@@ -1,14 +1,12 @@
 package com.ninecookies.wiremock.extensions;
 
-import java.io.File;
-import java.util.concurrent.ScheduledExecutorService;
-
 import com.github.tomakehurst.wiremock.common.Json;
 import com.ninecookies.wiremock.extensions.SnsCallbackHandler.SnsCallback;
 
 /**
  * Extends the {@link AbstractCallbackHandler} and uses {@link SnsMessagePublisher} to publish an
- * SNS topic message according to the callback definition.
+ * SNS topic message according to the callback definition. If SNS batching is enabled the message is published as
+ * part of a {@link SnsMessageBatcher batch}.
  */
 public class SnsCallbackHandler extends AbstractCallbackHandler<SnsCallback> {
 
@@ -17,16 +15,23 @@ public class SnsCallbackHandler extends AbstractCallbackHandler<SnsCallback> {
          * The destination topic to send the data to after delay has elapsed.
          */
         public String topic;
+
+        @Override
+        protected String target() {
+            return "sns:" + topic;
+        }
     }
 
-    private SnsCallbackHandler(ScheduledExecutorService executor, File callbackFile) {
-        super(executor, callbackFile, SnsCallback.class);
+    private SnsCallbackHandler(CallbackScheduler scheduler, CallbackStore store, String callbackId,
+            String target) {
+        super(scheduler, store, callbackId, target, SnsCallback.class);
     }
 
     private static SnsMessagePublisher publisher = new SnsMessagePublisher();
 
-    public static Runnable of(ScheduledExecutorService executor, File callbackFile) {
-        return new SnsCallbackHandler(executor, callbackFile);
+    public static SnsCallbackHandler of(CallbackScheduler scheduler, CallbackStore store, String callbackId,
+            String target) {
+        return new SnsCallbackHandler(scheduler, store, callbackId, target);
     }
 
     @Override
@@ -39,7 +44,9 @@ public class SnsCallbackHandler extends AbstractCallbackHandler<SnsCallback> {
                 messageJson = Json.write(callback.data);
             }
             publisher.sendMessage(callback.topic, messageJson);
-            getLog().info("message published to '{}'", callback.topic);
+            getSampledLog().info("message published to '{}'", callback.topic);
+        } catch (CallbackException e) {
+            throw e;
         } catch (Exception e) {
             throw new RetryCallbackException(e);
         }
@@ -0,0 +1,84 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.model.BatchResultErrorEntry;
+import com.amazonaws.services.sns.model.PublishBatchRequest;
+import com.amazonaws.services.sns.model.PublishBatchRequestEntry;
+import com.amazonaws.services.sns.model.PublishBatchResult;
+import com.amazonaws.services.sns.model.PublishBatchResultEntry;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.CallbackException;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.RetryCallbackException;
+
+/**
+ * Groups SNS messages that are due for the same topic within a short linger window into {@code PublishBatch}
+ * requests.
+ * <p>
+ * Entries rejected due to a sender fault, e.g. an invalid message, surface as {@link CallbackException} and are not
+ * retried. Any other failed entry surfaces as {@link RetryCallbackException} to the related callback handler.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class SnsMessageBatcher extends AbstractMessageBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnsMessageBatcher.class);
+
+    private final AmazonSNS client;
+
+    /**
+     * Initialize a new instance of the {@link SnsMessageBatcher} with the specified arguments.
+     *
+     * @param client the {@link AmazonSNS} client to publish message batches with.
+     * @param linger the time in milliseconds to wait for further messages before a batch is published.
+     */
+    public SnsMessageBatcher(AmazonSNS client, long linger) {
+        super(linger);
+        if (client == null) {
+            throw new IllegalStateException("AWS SNS messaging is disabled due to lacking configuration.");
+        }
+        this.client = client;
+    }
+
+    /**
+     * Publishes the specified {@code messageJson} to the specified {@code topicArn} as part of a message batch and
+     * waits for the batch to be published.
+     *
+     * @param topicArn the ARN of the topic to publish the message to.
+     * @param messageJson the JSON message string to publish.
+     * @throws CallbackException if publishing fails.
+     */
+    public void sendMessage(String topicArn, String messageJson) throws CallbackException {
+        submit(topicArn, messageJson);
+    }
+
+    @Override
+    protected void sendBatch(String topicArn, List<Entry> entries) {
+        List<PublishBatchRequestEntry> requestEntries = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            requestEntries.add(new PublishBatchRequestEntry()
+                    .withId(String.valueOf(i))
+                    .withMessage(entries.get(i).getMessage()));
+        }
+        PublishBatchResult result = client.publishBatch(new PublishBatchRequest()
+                .withTopicArn(topicArn)
+                .withPublishBatchRequestEntries(requestEntries));
+        for (PublishBatchResultEntry success : result.getSuccessful()) {
+            entries.get(Integer.parseInt(success.getId())).succeeded();
+        }
+        for (BatchResultErrorEntry failure : result.getFailed()) {
+            String message = String.format("publishing to '%s' failed: %s %s",
+                    topicArn, failure.getCode(), failure.getMessage());
+            entries.get(Integer.parseInt(failure.getId())).failed(Boolean.TRUE.equals(failure.getSenderFault())
+                    ? new CallbackException(message, null)
+                    : new RetryCallbackException(message));
+        }
+        LOG.debug("batch of {} messages published to '{}' - {} failed", entries.size(), topicArn,
+                result.getFailed().size());
+    }
+}
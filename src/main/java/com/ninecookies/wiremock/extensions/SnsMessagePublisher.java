@@ -1,24 +1,18 @@
 package com.ninecookies.wiremock.extensions;
 
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.amazonaws.services.sns.AmazonSNS;
-import com.amazonaws.services.sns.model.ListTopicsResult;
-import com.amazonaws.services.sns.model.Topic;
-import com.google.common.base.Strings;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.CallbackException;
 
 public class SnsMessagePublisher {
 
     private static final Logger LOG = LoggerFactory.getLogger(SnsMessagePublisher.class);
 
-    private static final String UNRESOLVABLE_TOPIC = UUID.randomUUID().toString();
-    private Map<String, String> resolvedTopics;
-    private AmazonSNS client;
+    private final SnsTopicIndex topics;
+    private final AmazonSNS client;
+    private final SnsMessageBatcher batcher;
 
     public SnsMessagePublisher() {
         CallbackConfiguration configuration = CallbackConfiguration.getInstance();
@@ -26,39 +20,26 @@ public class SnsMessagePublisher {
             throw new IllegalStateException("AWS SNS messaging is disabled due to lacking configuration.");
         }
         this.client = configuration.createSnsClient();
-        this.resolvedTopics = new ConcurrentHashMap<>();
+        this.topics = new SnsTopicIndex(client, configuration.getSnsTopicRefresh(),
+                configuration.getSnsTopicNegativeTtl());
+        this.batcher = configuration.isSnsBatchingEnabled()
+                ? new SnsMessageBatcher(client, configuration.getSnsBatchLinger())
+                : null;
     }
 
-    public void sendMessage(String topicName, String messageJson) {
+    public void sendMessage(String topicName, String messageJson) throws CallbackException {
         String topicArn = resolveTopicArn(topicName);
-        client.publish(topicArn, messageJson);
+        if (batcher != null) {
+            batcher.sendMessage(topicArn, messageJson);
+        } else {
+            client.publish(topicArn, messageJson);
+        }
         LOG.debug("message '{}' published to '{}'", messageJson, topicName);
     }
 
     private String resolveTopicArn(String topicName) {
-        if (topicName.startsWith("arn:aws:sns")) {
-            // looks like full qualified topic arn, simply return
-            return topicName;
-        }
-        String result = resolvedTopics.computeIfAbsent(topicName, tn -> {
-            try {
-                ListTopicsResult list = null;
-                do {
-                    list = (list == null) ? client.listTopics() : client.listTopics(list.getNextToken());
-                    for (Topic topic : list.getTopics()) {
-                        LOG.debug("{}.endsWith({}) => {}", topic.getTopicArn(), topicName,
-                                topic.getTopicArn().endsWith(topicName));
-                        if (topic.getTopicArn().endsWith(topicName)) {
-                            return topic.getTopicArn();
-                        }
-                    }
-                } while (!Strings.isNullOrEmpty(list.getNextToken()));
-            } catch (Exception e) {
-                LOG.error("unable to resolve topic arn", e);
-            }
-            return UNRESOLVABLE_TOPIC;
-        });
-        if (UNRESOLVABLE_TOPIC.equals(result)) {
+        String result = topics.resolve(topicName);
+        if (result == null) {
             throw new IllegalStateException("The arn for topic '" + topicName + "' could not be resolved.");
         }
         return result;
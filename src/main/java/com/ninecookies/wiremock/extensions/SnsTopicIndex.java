@@ -0,0 +1,149 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.model.ListTopicsResult;
+import com.amazonaws.services.sns.model.Topic;
+import com.ninecookies.wiremock.extensions.util.Strings;
+
+/**
+ * Resolves SNS topic names to their ARNs by an index of all topics that is built once and refreshed in the background.
+ * <p>
+ * Topic names are matched exactly against the last segment of the topic ARNs. A name that isn't indexed triggers a
+ * refresh of the index, but concurrent misses share a single refresh so that many new topic names don't cause a storm
+ * of paginated {@code ListTopics} requests. Names that can't be resolved even after a refresh are remembered for a
+ * limited time only, so that topics created later are found without a restart.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class SnsTopicIndex implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnsTopicIndex.class);
+    private static final String ARN_PREFIX = "arn:aws:sns";
+
+    private final AmazonSNS client;
+    private final long negativeTtl;
+    private final LongSupplier clock;
+    private final Map<String, Long> unresolvable = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+    private volatile Map<String, String> topics = Collections.emptyMap();
+    // guarded by this
+    private long lastRefresh = Long.MIN_VALUE;
+
+    /**
+     * Initialize a new instance of the {@link SnsTopicIndex} with the specified arguments and builds the index.
+     *
+     * @param client the {@link AmazonSNS} client to list the topics with.
+     * @param refreshInterval the time in milliseconds between background refreshes; {@code 0} disables them.
+     * @param negativeTtl the time in milliseconds an unresolvable topic name isn't looked up again.
+     */
+    public SnsTopicIndex(AmazonSNS client, long refreshInterval, long negativeTtl) {
+        this(client, refreshInterval, negativeTtl, System::currentTimeMillis);
+    }
+
+    SnsTopicIndex(AmazonSNS client, long refreshInterval, long negativeTtl, LongSupplier clock) {
+        if (client == null) {
+            throw new IllegalStateException("AWS SNS messaging is disabled due to lacking configuration.");
+        }
+        this.client = client;
+        this.negativeTtl = negativeTtl;
+        this.clock = clock;
+        refresh(clock.getAsLong());
+        if (refreshInterval > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread result = new Thread(r, "sns-topic-index");
+                result.setDaemon(true);
+                return result;
+            });
+            refresher.scheduleWithFixedDelay(() -> refresh(clock.getAsLong()), refreshInterval, refreshInterval,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            refresher = null;
+        }
+    }
+
+    /**
+     * Resolves the ARN of the specified {@code topicName}.
+     *
+     * @param topicName the name or the ARN of the topic.
+     * @return the ARN of the topic or {@code null} if no topic with the specified {@code topicName} exists.
+     */
+    public String resolve(String topicName) {
+        if (topicName.startsWith(ARN_PREFIX)) {
+            // looks like full qualified topic arn, simply return
+            return topicName;
+        }
+        String result = topics.get(topicName);
+        if (result != null) {
+            return result;
+        }
+        long now = clock.getAsLong();
+        Long expiry = unresolvable.get(topicName);
+        if (expiry != null && now < expiry) {
+            return null;
+        }
+        refresh(now);
+        result = topics.get(topicName);
+        if (result == null) {
+            LOG.warn("unable to resolve topic '{}' - retrying lookup in {}ms", topicName, negativeTtl);
+            unresolvable.put(topicName, clock.getAsLong() + negativeTtl);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed topics.
+     *
+     * @return the number of indexed topics.
+     */
+    public int size() {
+        return topics.size();
+    }
+
+    /**
+     * Rebuilds the index unless a refresh started at or after {@code missedAt} already did so.
+     *
+     * @param missedAt the time in milliseconds the index was found to be outdated.
+     */
+    private synchronized void refresh(long missedAt) {
+        if (lastRefresh >= missedAt) {
+            return;
+        }
+        lastRefresh = clock.getAsLong();
+        try {
+            Map<String, String> result = new HashMap<>();
+            ListTopicsResult list = null;
+            do {
+                list = (list == null) ? client.listTopics() : client.listTopics(list.getNextToken());
+                for (Topic topic : list.getTopics()) {
+                    String arn = topic.getTopicArn();
+                    result.put(arn.substring(arn.lastIndexOf(':') + 1), arn);
+                }
+            } while (!Strings.isNullOrEmpty(list.getNextToken()));
+            topics = Collections.unmodifiableMap(result);
+            unresolvable.keySet().removeAll(result.keySet());
+            LOG.debug("topic index refreshed with {} topics", result.size());
+        } catch (RuntimeException e) {
+            LOG.error("unable to refresh topic index", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+}
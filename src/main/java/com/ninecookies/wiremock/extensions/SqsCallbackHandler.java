@@ -1,16 +1,14 @@
 package com.ninecookies.wiremock.extensions;
 
-import java.io.File;
-import java.util.concurrent.ScheduledExecutorService;
-
 import javax.jms.JMSException;
 
 import com.github.tomakehurst.wiremock.common.Json;
 import com.ninecookies.wiremock.extensions.SqsCallbackHandler.SqsCallback;
 
 /**
- * Extends the {@link AbstractCallbackHandler} and uses {@link SqsMessagePublisher} to publish an
- * SQS queue message according to the callback definition.
+ * Extends the {@link AbstractCallbackHandler} and uses a shared {@link SqsMessagePublisher} to publish an
+ * SQS queue message according to the callback definition. If SQS batching is enabled the shared
+ * {@link SqsMessageBatcher} is used instead.
  */
 public class SqsCallbackHandler extends AbstractCallbackHandler<SqsCallback> {
 
@@ -19,33 +17,63 @@ public class SqsCallbackHandler extends AbstractCallbackHandler<SqsCallback> {
          * The destination queue to send the data to after delay has elapsed.
          */
         public String queue;
+
+        @Override
+        protected String target() {
+            return "sqs:" + queue;
+        }
     }
 
-    private SqsCallbackHandler(ScheduledExecutorService executor, File callbackFile) {
-        super(executor, callbackFile, SqsCallback.class);
+    private static SqsMessagePublisher publisher;
+    private static SqsMessageBatcher batcher;
+
+    private SqsCallbackHandler(CallbackScheduler scheduler, CallbackStore store, String callbackId,
+            String target) {
+        super(scheduler, store, callbackId, target, SqsCallback.class);
     }
 
-    public static Runnable of(ScheduledExecutorService executor, File callbackFile) {
-        return new SqsCallbackHandler(executor, callbackFile);
+    public static SqsCallbackHandler of(CallbackScheduler scheduler, CallbackStore store, String callbackId,
+            String target) {
+        return new SqsCallbackHandler(scheduler, store, callbackId, target);
     }
 
     @Override
     public void handle(SqsCallback callback) throws CallbackException {
-        try (SqsMessagePublisher publisher = new SqsMessagePublisher()) {
-            String message;
-            if (callback.data instanceof String) {
-                message = (String) callback.data;
+        String message;
+        if (callback.data instanceof String) {
+            message = (String) callback.data;
+        } else {
+            message = Json.write(callback.data);
+        }
+        try {
+            if (CallbackConfiguration.getInstance().isSqsBatchingEnabled()) {
+                batcher().sendMessage(callback.queue, message);
             } else {
-                message = Json.write(callback.data);
-            }
-            try {
-                publisher.sendMessage(callback.queue, message);
-                getLog().info("message published to '{}'", callback.queue);
-            } catch (JMSException e) {
-                throw new RetryCallbackException(e);
+                publisher().sendMessage(callback.queue, message);
             }
+            getSampledLog().info("message published to '{}'", callback.queue);
+        } catch (CallbackException e) {
+            throw e;
+        } catch (JMSException e) {
+            throw new RetryCallbackException(e);
         } catch (Exception e) {
             throw new CallbackException(e);
         }
     }
+
+    private static synchronized SqsMessagePublisher publisher() throws JMSException {
+        // lazily initialized to not connect unless SQS callbacks are actually used
+        if (publisher == null) {
+            publisher = new SqsMessagePublisher();
+        }
+        return publisher;
+    }
+
+    private static synchronized SqsMessageBatcher batcher() {
+        if (batcher == null) {
+            CallbackConfiguration configuration = CallbackConfiguration.getInstance();
+            batcher = new SqsMessageBatcher(configuration.createSqsClient(), configuration.getSqsBatchLinger());
+        }
+        return batcher;
+    }
 }
@@ -0,0 +1,96 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.QueueDoesNotExistException;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.CallbackException;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.RetryCallbackException;
+
+/**
+ * Groups SQS messages that are due for the same queue within a short linger window into {@code SendMessageBatch}
+ * requests.
+ * <p>
+ * Any failed entry surfaces as {@link RetryCallbackException} to the related callback handler.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class SqsMessageBatcher extends AbstractMessageBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqsMessageBatcher.class);
+
+    private final AmazonSQS client;
+    private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+    /**
+     * Initialize a new instance of the {@link SqsMessageBatcher} with the specified arguments.
+     *
+     * @param client the {@link AmazonSQS} client to send message batches with.
+     * @param linger the time in milliseconds to wait for further messages before a batch is sent.
+     */
+    public SqsMessageBatcher(AmazonSQS client, long linger) {
+        super(linger);
+        if (client == null) {
+            throw new IllegalStateException("AWS SQS messaging is disabled due to lacking configuration.");
+        }
+        this.client = client;
+    }
+
+    /**
+     * Publishes the specified {@code messageJson} to the specified {@code queueName} as part of a message batch and
+     * waits for the batch to be sent.
+     *
+     * @param queueName the name of the queue to publish the message to.
+     * @param messageJson the JSON message string to publish.
+     * @throws CallbackException if publishing fails.
+     */
+    public void sendMessage(String queueName, String messageJson) throws CallbackException {
+        submit(queueName, messageJson);
+    }
+
+    @Override
+    protected void sendBatch(String queueName, List<Entry> entries) {
+        try {
+            String queueUrl = resolveQueueUrl(queueName);
+            List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                requestEntries.add(new SendMessageBatchRequestEntry(String.valueOf(i), entries.get(i).getMessage()));
+            }
+            SendMessageBatchResult result = client.sendMessageBatch(queueUrl, requestEntries);
+            for (SendMessageBatchResultEntry success : result.getSuccessful()) {
+                entries.get(Integer.parseInt(success.getId())).succeeded();
+            }
+            for (BatchResultErrorEntry failure : result.getFailed()) {
+                entries.get(Integer.parseInt(failure.getId())).failed(
+                        new RetryCallbackException(String.format("publishing to '%s' failed: %s %s",
+                                queueName, failure.getCode(), failure.getMessage())));
+            }
+            LOG.debug("batch of {} messages published to '{}' - {} failed", entries.size(), queueName,
+                    result.getFailed().size());
+        } catch (QueueDoesNotExistException e) {
+            // the queue might be created in the meantime
+            queueUrls.remove(queueName);
+            throw e;
+        }
+    }
+
+    private String resolveQueueUrl(String queueName) {
+        String result = queueUrls.get(queueName);
+        if (result == null) {
+            result = client.getQueueUrl(queueName).getQueueUrl();
+            queueUrls.put(queueName, result);
+        }
+        return result;
+    }
+}
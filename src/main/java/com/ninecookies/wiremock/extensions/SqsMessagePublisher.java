@@ -1,9 +1,13 @@
 package com.ninecookies.wiremock.extensions;
 
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import javax.jms.Connection;
 import javax.jms.JMSException;
 import javax.jms.MessageProducer;
-import javax.jms.Queue;
 import javax.jms.Session;
 import javax.jms.TextMessage;
 
@@ -14,17 +18,26 @@ import org.slf4j.LoggerFactory;
  * Implements {@link AutoCloseable} and provides the {@link #sendMessage(String, String)} method to publish messages to
  * an SQS queue.
  * <p>
- * Example utilizing the convenient {@link AutoCloseable} interface.
+ * The publisher is meant to be long-lived and shared. It keeps a single connection, a pool of sessions with their
+ * message producers and the resolved queue destinations, so that publishing a message to a known queue requires a
+ * single SendMessage call only.
+ * <p>
+ * Example lazily creating a single publisher that is shared by all messages.
  *
  * <pre>
  * <code>
- * try (MessagePublisher publisher = new MessagePublisher()) {
- *     String messageJson = "JSON message string";
- *     String queueName = "queue-name";
- *     publisher.sendMessage(queueName, messageJson)
+ * private static SqsMessagePublisher publisher;
+ *
+ * private static synchronized SqsMessagePublisher publisher() throws JMSException {
+ *     if (publisher == null) {
+ *         publisher = new SqsMessagePublisher();
+ *     }
+ *     return publisher;
+ * }
+ *
+ * void publish(String queueName, String messageJson) throws JMSException {
+ *     publisher().sendMessage(queueName, messageJson);
  *     LOG.info("message published to '{}'", queueName);
- * } catch (Exception e) {
- *     LOG.error("unable to publish SQS message", e);
  * }
  * </code>
  * </pre>
@@ -34,7 +47,8 @@ public class SqsMessagePublisher implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(SqsMessagePublisher.class);
 
     private final Connection connection;
-    private Session session;
+    private final Queue<PooledSession> sessions = new ConcurrentLinkedQueue<>();
+    private final Map<String, javax.jms.Queue> queues = new ConcurrentHashMap<>();
 
     /**
      * Initialize a new instance of the {@link SqsMessagePublisher} with the specified arguments.
@@ -58,20 +72,29 @@ public class SqsMessagePublisher implements AutoCloseable {
      * @throws JMSException if publishing fails
      */
     public void sendMessage(String queueName, String messageJson) throws JMSException {
-        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-        Queue queue = session.createQueue(queueName);
-
-        MessageProducer producer = session.createProducer(queue);
-        TextMessage message = session.createTextMessage(messageJson);
-        producer.send(message);
-        LOG.debug("message '{}' published to '{}'", message, queue);
+        PooledSession pooled = borrowSession();
+        try {
+            javax.jms.Queue queue = resolveQueue(pooled.session, queueName);
+            TextMessage message = pooled.session.createTextMessage(messageJson);
+            try {
+                pooled.producer.send(queue, message);
+            } catch (JMSException e) {
+                // the queue might have been deleted or recreated in the meantime
+                queues.remove(queueName);
+                throw e;
+            }
+            LOG.debug("message '{}' published to '{}'", message, queue);
+        } finally {
+            sessions.offer(pooled);
+        }
     }
 
     @Override
     public void close() throws Exception {
-        if (session != null) {
+        PooledSession pooled;
+        while ((pooled = sessions.poll()) != null) {
             try {
-                session.close();
+                pooled.session.close();
                 LOG.debug("session closed");
             } catch (JMSException e) {
                 LOG.error("unable to close JMS session", e);
@@ -86,4 +109,37 @@ public class SqsMessagePublisher implements AutoCloseable {
             }
         }
     }
+
+    private PooledSession borrowSession() throws JMSException {
+        PooledSession result = sessions.poll();
+        if (result == null) {
+            // JMS sessions must not be used concurrently thus each concurrent sender gets its own
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            result = new PooledSession(session, session.createProducer(null));
+            LOG.debug("session created");
+        }
+        return result;
+    }
+
+    private javax.jms.Queue resolveQueue(Session session, String queueName) throws JMSException {
+        javax.jms.Queue result = queues.get(queueName);
+        if (result == null) {
+            result = session.createQueue(queueName);
+            queues.put(queueName, result);
+        }
+        return result;
+    }
+
+    /**
+     * Represents a JMS session along with its unidentified message producer.
+     */
+    private static final class PooledSession {
+        private final Session session;
+        private final MessageProducer producer;
+
+        private PooledSession(Session session, MessageProducer producer) {
+            this.session = session;
+            this.producer = producer;
+        }
+    }
 }
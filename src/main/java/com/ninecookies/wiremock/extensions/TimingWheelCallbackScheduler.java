@@ -0,0 +1,192 @@
+package com.ninecookies.wiremock.extensions;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implements the {@link CallbackScheduler} as hierarchical hashed timing wheel.
+ * <p>
+ * Scheduled tasks are offered to a lock-free submission queue and picked up by a single timer thread that owns the
+ * wheels exclusively. Each of the {@value #LEVELS} wheels has {@value #WHEEL_SIZE} buckets where a bucket of the
+ * lowest wheel spans one tick and a bucket of each higher wheel spans a whole revolution of the wheel below. When the
+ * timer reaches a bucket of a higher wheel its tasks are cascaded into the lower wheels so that scheduling and
+ * expiring a task takes constant time regardless of the number of pending tasks.
+ * <p>
+ * Due tasks are handed to the worker {@link Executor} thus the timer thread never runs callback handlers itself.
+ * Tasks are never run before their delay has elapsed but may run up to one tick later.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class TimingWheelCallbackScheduler implements CallbackScheduler, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheelCallbackScheduler.class);
+    private static final int LEVELS = 4;
+    private static final int WHEEL_BITS = 9;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long MAX_DISTANCE = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    private static final AtomicInteger TIMER_NUMBER = new AtomicInteger(1);
+
+    private final Executor workers;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Queue<Timeout> submissions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread timer;
+    private volatile boolean running = true;
+
+    // owned by the timer thread
+    private final Timeout[][] wheels = new Timeout[LEVELS][WHEEL_SIZE];
+    private long currentTick;
+
+    /**
+     * Initialize a new instance of the {@link TimingWheelCallbackScheduler} with the specified arguments.
+     *
+     * @param tick the duration of a tick in milliseconds.
+     * @param workers the {@link Executor} to run due tasks with.
+     */
+    public TimingWheelCallbackScheduler(long tick, Executor workers) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        if (workers == null) {
+            throw new IllegalArgumentException("workers must not be null");
+        }
+        this.workers = workers;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tick);
+        this.startNanos = System.nanoTime();
+        this.timer = new Thread(this::runTimer, "callback-wheel-" + TIMER_NUMBER.getAndIncrement());
+        this.timer.setDaemon(true);
+        this.timer.start();
+        LOG.debug("timing wheel started with tick {}ms", tick);
+    }
+
+    @Override
+    public void schedule(Runnable task, long delay) {
+        if (!running) {
+            throw new RejectedExecutionException("timing wheel is closed");
+        }
+        if (delay <= 0) {
+            workers.execute(task);
+            return;
+        }
+        long deadlineNanos = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delay);
+        // round up to never run a task before its delay has elapsed
+        long deadline = (deadlineNanos + tickNanos - 1) / tickNanos;
+        pending.incrementAndGet();
+        submissions.offer(new Timeout(task, deadline));
+    }
+
+    /**
+     * Gets the number of scheduled tasks that are not yet handed to the workers.
+     *
+     * @return the number of pending tasks.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(timer);
+    }
+
+    private void runTimer() {
+        while (running) {
+            long elapsedTicks = (System.nanoTime() - startNanos) / tickNanos;
+            transferSubmissions();
+            while (currentTick <= elapsedTicks) {
+                expire(currentTick);
+                currentTick++;
+            }
+            long sleepNanos = startNanos + currentTick * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+        }
+        LOG.debug("timing wheel stopped with {} pending tasks", pending.get());
+    }
+
+    private void transferSubmissions() {
+        Timeout timeout;
+        while ((timeout = submissions.poll()) != null) {
+            add(timeout);
+        }
+    }
+
+    private void expire(long tick) {
+        // cascade the buckets of higher wheels that start with this tick from top to bottom
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = WHEEL_BITS * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                int index = (int) ((tick >>> shift) & WHEEL_MASK);
+                Timeout timeout = wheels[level][index];
+                wheels[level][index] = null;
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    add(timeout);
+                    timeout = next;
+                }
+            }
+        }
+        int index = (int) (tick & WHEEL_MASK);
+        Timeout timeout = wheels[0][index];
+        wheels[0][index] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            dispatch(timeout);
+            timeout = next;
+        }
+    }
+
+    private void add(Timeout timeout) {
+        long distance = timeout.deadline - currentTick;
+        if (distance < 0) {
+            dispatch(timeout);
+            return;
+        }
+        // tasks beyond the highest wheel are parked in its farthest bucket and cascaded again when reached
+        long bucketTick = distance > MAX_DISTANCE ? currentTick + MAX_DISTANCE : timeout.deadline;
+        int level = 0;
+        while (level < LEVELS - 1 && Math.min(distance, MAX_DISTANCE) >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((bucketTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        timeout.next = wheels[level][index];
+        wheels[level][index] = timeout;
+    }
+
+    private void dispatch(Timeout timeout) {
+        timeout.next = null;
+        pending.decrementAndGet();
+        try {
+            workers.execute(timeout.task);
+        } catch (RuntimeException e) {
+            LOG.error("unable to run due task", e);
+        }
+    }
+
+    /**
+     * Represents a scheduled task along with the tick it is due.
+     */
+    private static final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.ninecookies.wiremock.extensions.util;
+
+import static com.ninecookies.wiremock.extensions.util.Placeholders.KEYWORD_PATTERN;
+import static com.ninecookies.wiremock.extensions.util.Placeholders.PLACEHOLDER_PATTERN;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.jayway.jsonpath.DocumentContext;
+import com.ninecookies.wiremock.extensions.util.Placeholders.Keyword;
+
+/**
+ * Represents a compiled JSON template consisting of literal segments and placeholder slots.
+ * <p>
+ * A template is parsed once and keeps its literal segments as UTF-8 encoded bytes. Rendering resolves the placeholder
+ * values, computes the exact result size and copies literals and values into one single byte array. Slots enclosed in
+ * quotes (e.g. {@code "$(property.path)"}) are replaced by the JSON value of the placeholder including the quotes,
+ * while slots embedded in arbitrary text are replaced by the placeholder's string value. Each distinct placeholder is
+ * resolved only once per rendering so that e.g. multiple occurrences of {@code $(!UUID)} share the same value.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class JsonTemplate {
+    private static final Logger LOG = LoggerFactory.getLogger(JsonTemplate.class);
+    private static final int MAX_CACHED_TEMPLATES = 1_000;
+    private static final Map<Object, JsonTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final LongAdder CACHE_HITS = new LongAdder();
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+
+    // the template string if compiled from a string to be returned as is if it contains no placeholders
+    private final String template;
+    // literals.length == slots.length + 1
+    private final byte[][] literals;
+    private final Slot[] slots;
+    private final Resolver[] resolvers;
+    private final Set<String> roots;
+
+    private JsonTemplate(String template, boolean keepTemplate) {
+        this.template = keepTemplate ? template : null;
+        List<byte[]> literalList = new ArrayList<>();
+        List<Slot> slotList = new ArrayList<>();
+        Map<String, Integer> distinct = new LinkedHashMap<>();
+        List<Resolver> resolverList = new ArrayList<>();
+
+        int position = 0;
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
+        while (matcher.find()) {
+            String pattern = matcher.group();
+            int start = matcher.start();
+            int end = matcher.end();
+            boolean quoted = start > 0 && end < template.length()
+                    && template.charAt(start - 1) == '"' && template.charAt(end) == '"';
+            if (quoted) {
+                // the surrounding quotes are part of the slot
+                start--;
+                end++;
+            }
+            Integer index = distinct.get(pattern);
+            if (index == null) {
+                index = resolverList.size();
+                distinct.put(pattern, index);
+                resolverList.add(Resolver.of(pattern));
+            }
+            literalList.add(template.substring(position, start).getBytes(StandardCharsets.UTF_8));
+            slotList.add(new Slot(index, quoted));
+            position = end;
+        }
+        literalList.add(template.substring(position).getBytes(StandardCharsets.UTF_8));
+
+        this.literals = literalList.toArray(new byte[literalList.size()][]);
+        this.slots = slotList.toArray(new Slot[slotList.size()]);
+        this.resolvers = resolverList.toArray(new Resolver[resolverList.size()]);
+        Set<String> rootSet = new HashSet<>();
+        for (Resolver resolver : resolvers) {
+            if (resolver.placeholder != null) {
+                rootSet.add(resolver.placeholder.getRoot());
+            }
+        }
+        this.roots = Collections.unmodifiableSet(rootSet);
+    }
+
+    /**
+     * Indicates whether this template contains any placeholders at all.
+     *
+     * @return {@code true} if the template contains placeholders; otherwise {@code false}.
+     */
+    public boolean hasPlaceholders() {
+        return slots.length > 0;
+    }
+
+    /**
+     * Gets the number of distinct placeholders of this template.
+     *
+     * @return the number of distinct placeholders.
+     */
+    public int getPlaceholderCount() {
+        return resolvers.length;
+    }
+
+    /**
+     * Gets the top level properties of the placeholder source referenced by the placeholders of this template.
+     * Keywords don't reference the placeholder source thus the result is empty for keyword only templates.
+     *
+     * @return the {@link Set} of referenced {@link Placeholder#getRoot() roots}; contains {@code null} if the root of
+     *         a placeholder can't be determined.
+     */
+    public Set<String> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Renders this template with the placeholders replaced by their related values looked up in the specified
+     * <i>placeholderSource</i>.
+     *
+     * @param placeholderSource the placeholder source {@link DocumentContext} to look up values.
+     * @return the JSON result of the template with placeholders replaced by their related values.
+     */
+    public String render(DocumentContext placeholderSource) {
+        if (!hasPlaceholders() && template != null) {
+            return template;
+        }
+        return new String(renderBytes(placeholderSource), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renders this template as UTF-8 encoded JSON with the placeholders replaced by their related values looked up in
+     * the specified <i>placeholderSource</i>.
+     *
+     * @param placeholderSource the placeholder source {@link DocumentContext} to look up values.
+     * @return a new byte array containing the UTF-8 encoded JSON result.
+     */
+    public byte[] renderBytes(DocumentContext placeholderSource) {
+        return renderBytes(resolve(placeholderSource));
+    }
+
+    /**
+     * Resolves the values of the distinct placeholders of this template looked up in the specified
+     * <i>placeholderSource</i>.
+     *
+     * @param placeholderSource the placeholder source {@link DocumentContext} to look up values.
+     * @return the values of the distinct placeholders to be {@link #renderBytes(Object[]) rendered}.
+     */
+    public Object[] resolve(DocumentContext placeholderSource) {
+        Object[] values = new Object[resolvers.length];
+        for (int i = 0; i < resolvers.length; i++) {
+            values[i] = resolvers[i].resolve(placeholderSource);
+        }
+        return values;
+    }
+
+    /**
+     * Renders this template as UTF-8 encoded JSON with the placeholders replaced by the specified previously
+     * {@link #resolve(DocumentContext) resolved} <i>values</i>.
+     *
+     * @param values the values of the distinct placeholders as returned by {@link #resolve(DocumentContext)}.
+     * @return a new byte array containing the UTF-8 encoded JSON result.
+     */
+    public byte[] renderBytes(Object[] values) {
+        if (values == null || values.length != resolvers.length) {
+            throw new IllegalArgumentException("'values' must contain " + resolvers.length + " placeholder values");
+        }
+        // encode each distinct value once per representation
+        byte[][] jsonValues = new byte[resolvers.length][];
+        byte[][] textValues = new byte[resolvers.length][];
+        byte[][] slotValues = new byte[slots.length][];
+        int size = 0;
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            byte[][] encoded = slot.quoted ? jsonValues : textValues;
+            if (encoded[slot.index] == null) {
+                encoded[slot.index] = slot.quoted
+                        ? Json.write(values[slot.index]).getBytes(StandardCharsets.UTF_8)
+                        : String.valueOf(values[slot.index]).getBytes(StandardCharsets.UTF_8);
+            }
+            slotValues[i] = encoded[slot.index];
+            size += literals[i].length + slotValues[i].length;
+        }
+        size += literals[slots.length].length;
+
+        byte[] result = new byte[size];
+        int position = 0;
+        for (int i = 0; i < slots.length; i++) {
+            System.arraycopy(literals[i], 0, result, position, literals[i].length);
+            position += literals[i].length;
+            System.arraycopy(slotValues[i], 0, result, position, slotValues[i].length);
+            position += slotValues[i].length;
+        }
+        System.arraycopy(literals[slots.length], 0, result, position, literals[slots.length].length);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("JsonTemplate[")
+                .append("slots=").append(slots.length)
+                .append(", placeholders=").append(resolvers.length)
+                .append("]")
+                .toString();
+    }
+
+    /**
+     * Gets the compiled {@link JsonTemplate} for the specified <i>template</i>. Compiled templates are cached by their
+     * template string so that static stub bodies are parsed only once.
+     *
+     * @param template the template JSON string containing the placeholders.
+     * @return the compiled {@link JsonTemplate}.
+     */
+    public static JsonTemplate of(String template) {
+        if (template == null) {
+            throw new IllegalArgumentException("'template' must not be null");
+        }
+        JsonTemplate result = TEMPLATES.get(template);
+        if (result == null) {
+            result = cache(template, new JsonTemplate(template, true));
+        } else {
+            CACHE_HITS.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the compiled {@link JsonTemplate} for the specified UTF-8 encoded <i>template</i>. Compiled templates are
+     * cached by their content so that static stub bodies are decoded and parsed only once.
+     *
+     * @param template the UTF-8 encoded template JSON containing the placeholders.
+     * @return the compiled {@link JsonTemplate}.
+     */
+    public static JsonTemplate of(byte[] template) {
+        if (template == null) {
+            throw new IllegalArgumentException("'template' must not be null");
+        }
+        BytesKey key = new BytesKey(template);
+        JsonTemplate result = TEMPLATES.get(key);
+        if (result == null) {
+            result = cache(key, new JsonTemplate(new String(template, StandardCharsets.UTF_8), false));
+        } else {
+            CACHE_HITS.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of template lookups that were served by the template cache.
+     *
+     * @return the number of cache hits.
+     */
+    public static long getCacheHits() {
+        return CACHE_HITS.sum();
+    }
+
+    /**
+     * Gets the number of template lookups that required to compile the template.
+     *
+     * @return the number of cache misses.
+     */
+    public static long getCacheMisses() {
+        return CACHE_MISSES.sum();
+    }
+
+    private static JsonTemplate cache(Object key, JsonTemplate template) {
+        CACHE_MISSES.increment();
+        if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+            // simple overflow protection for dynamically generated templates
+            LOG.debug("template cache limit of {} reached - clearing cache", MAX_CACHED_TEMPLATES);
+            TEMPLATES.clear();
+        }
+        JsonTemplate existing = TEMPLATES.putIfAbsent(key, template);
+        return existing == null ? template : existing;
+    }
+
+    /**
+     * Represents the content of a byte array template as cache key.
+     */
+    private static final class BytesKey {
+        private final byte[] bytes;
+        private final int hash;
+
+        private BytesKey(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof BytesKey && Arrays.equals(bytes, ((BytesKey) obj).bytes);
+        }
+    }
+
+    /**
+     * Represents the occurrence of a placeholder in the template.
+     */
+    private static final class Slot {
+        private final int index;
+        private final boolean quoted;
+
+        private Slot(int index, boolean quoted) {
+            this.index = index;
+            this.quoted = quoted;
+        }
+    }
+
+    /**
+     * Resolves the value of a distinct placeholder either by its keyword or its JSON path.
+     */
+    private static final class Resolver {
+        private final Keyword keyword;
+        private final String arguments;
+        private final Placeholder placeholder;
+
+        private Resolver(Keyword keyword, String arguments, Placeholder placeholder) {
+            this.keyword = keyword;
+            this.arguments = arguments;
+            this.placeholder = placeholder;
+        }
+
+        private Object resolve(DocumentContext placeholderSource) {
+            if (keyword != null) {
+                return keyword.value(arguments);
+            }
+            if (placeholderSource == null) {
+                return null;
+            }
+            return placeholder.getValue(placeholderSource);
+        }
+
+        private static Resolver of(String pattern) {
+            Matcher isKey = KEYWORD_PATTERN.matcher(pattern);
+            if (isKey.find()) {
+                return new Resolver(Keyword.of(isKey.group(1)), isKey.group(2), null);
+            }
+            return new Resolver(null, null, Placeholder.of(pattern));
+        }
+    }
+}
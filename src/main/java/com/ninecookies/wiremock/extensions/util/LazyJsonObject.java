@@ -0,0 +1,87 @@
+package com.ninecookies.wiremock.extensions.util;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Represents a JSON object whose property values are computed on first access only.
+ * <p>
+ * Used as root of a placeholder source {@link com.jayway.jsonpath.DocumentContext DocumentContext} to resolve the
+ * top level properties by path prefix without parsing sub-documents that no placeholder refers to.
+ * <p>
+ * Note: instances are not thread-safe.
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public class LazyJsonObject extends AbstractMap<String, Object> {
+
+    private final Map<String, Supplier<?>> suppliers;
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    private LazyJsonObject(Map<String, Supplier<?>> suppliers) {
+        this.suppliers = suppliers;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return suppliers.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        Supplier<?> supplier = suppliers.get(key);
+        if (supplier == null) {
+            return null;
+        }
+        if (!values.containsKey(key)) {
+            values.put((String) key, supplier.get());
+        }
+        return values.get(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return suppliers.keySet();
+    }
+
+    @Override
+    public int size() {
+        return suppliers.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        // iterating the entries requires all values
+        for (String key : suppliers.keySet()) {
+            get(key);
+        }
+        return values.entrySet();
+    }
+
+    /**
+     * Indicates whether the value of the specified {@code key} was computed already.
+     *
+     * @param key the property name to check.
+     * @return {@code true} if the value was computed; otherwise {@code false}.
+     */
+    public boolean isComputed(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * Creates a new {@link LazyJsonObject} with the specified {@code suppliers} to compute the property values.
+     *
+     * @param suppliers the {@link Supplier}s of the property values by property name.
+     * @return a new {@link LazyJsonObject}.
+     */
+    public static LazyJsonObject of(Map<String, Supplier<?>> suppliers) {
+        if (suppliers == null) {
+            throw new IllegalArgumentException("'suppliers' must not be null");
+        }
+        return new LazyJsonObject(new LinkedHashMap<>(suppliers));
+    }
+}
@@ -1,5 +1,6 @@
 package com.ninecookies.wiremock.extensions.util;
 
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 
 import com.github.tomakehurst.wiremock.common.Json;
@@ -90,6 +91,69 @@ public class Objects {
         return result.toString();
     }
 
+    /**
+     * Creates an {@link Object} whose {@link Object#toString()} returns the {@link String} representation of the value
+     * computed by the specified <i>supplier</i>. Used as logging argument the value is computed only if the log level
+     * is enabled, e.g. {@code LOG.debug("result: {}", lazy(() -> expensive()))}.
+     *
+     * @param supplier the {@link Supplier} computing the value on demand.
+     * @return the {@link Object} computing its {@link String} representation on demand.
+     */
+    public static Object lazy(Supplier<?> supplier) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return String.valueOf(supplier.get());
+            }
+        };
+    }
+
+    /**
+     * Describes the specified <i>response</i> for logging purposes on demand.
+     *
+     * @param response the wiremock {@link Response} to describe.
+     * @return the {@link Object} whose {@link Object#toString()} describes the specified <i>response</i>.
+     * @see #describe(Response)
+     */
+    public static Object describeLazily(Response response) {
+        return lazy(() -> describe(response));
+    }
+
+    /**
+     * Describes the specified <i>object</i> for logging purposes on demand.
+     *
+     * @param object the {@link Object} to describe.
+     * @return the {@link Object} whose {@link Object#toString()} describes the specified <i>object</i>.
+     * @see #describe(Object)
+     */
+    public static Object describeLazily(Object object) {
+        return lazy(() -> describe(object));
+    }
+
+    /**
+     * Describes the specified <i>documentContext</i> for logging purposes on demand. The document is serialized only
+     * if the description is actually used.
+     *
+     * @param documentContext the {@link DocumentContext} to describe.
+     * @return the {@link Object} whose {@link Object#toString()} describes the specified <i>documentContext</i>.
+     * @see #describe(DocumentContext)
+     */
+    public static Object describeLazily(DocumentContext documentContext) {
+        return lazy(() -> describe(documentContext));
+    }
+
+    /**
+     * Describes the specified <i>matcher</i> for logging purposes on demand. As the description reflects the current
+     * state of the <i>matcher</i> it must be used before the <i>matcher</i> is reset or advanced.
+     *
+     * @param matcher the {@link Matcher} to describe.
+     * @return the {@link Object} whose {@link Object#toString()} describes the specified <i>matcher</i>.
+     * @see #describe(Matcher)
+     */
+    public static Object describeLazily(Matcher matcher) {
+        return lazy(() -> describe(matcher));
+    }
+
     /**
      * Protected constructor that avoids that new instances of this utility class are accidentally created but still
      * allows this utility class to be inherited and enhanced.
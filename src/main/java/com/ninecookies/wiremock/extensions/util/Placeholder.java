@@ -2,11 +2,14 @@ package com.ninecookies.wiremock.extensions.util;
 
 import static com.ninecookies.wiremock.extensions.util.Placeholders.PLACEHOLDER_PATTERN;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
 
 /**
  * Represents a placeholder for this extensions.
@@ -16,13 +19,25 @@ import com.jayway.jsonpath.InvalidPathException;
  */
 public class Placeholder {
     private static final Predicate<String> CONTAINS_PATTERN = PLACEHOLDER_PATTERN.asPredicate();
+    private static final int MAX_CACHED_PLACEHOLDERS = 10_000;
+    private static final Map<String, Placeholder> PLACEHOLDERS = new ConcurrentHashMap<>();
 
     private final String pattern;
-    private String placeholder;
+    private final String placeholder;
+    private final String path;
+    private final String root;
+    private final JsonPath jsonPath;
 
     private Placeholder(String pattern) {
         this.pattern = pattern;
         this.placeholder = normalize(pattern);
+        this.path = jsonPath(placeholder);
+        this.root = root(path);
+        try {
+            this.jsonPath = JsonPath.compile(path);
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("The path '" + path + "' is invalid: " + e.getMessage());
+        }
     }
 
     /**
@@ -43,6 +58,17 @@ public class Placeholder {
         return placeholder;
     }
 
+    /**
+     * Gets the name of the top level property the placeholder refers to, e.g. {@code request} for
+     * {@code $(request.id)}.
+     *
+     * @return the name of the top level property or {@code null} if it can't be determined, e.g. for wildcards or
+     *         bracket notation.
+     */
+    public String getRoot() {
+        return root;
+    }
+
     /**
      * Gets the {@link #getPlaceholder()}'s value according to the specified {@code json}.
      *
@@ -63,9 +89,8 @@ public class Placeholder {
         if (documentContext == null) {
             return null;
         }
-        String path = jsonPath();
         try {
-            return documentContext.read(path);
+            return documentContext.read(jsonPath);
         } catch (InvalidPathException e) {
             throw new IllegalArgumentException("The path '" + path + "' is invalid: " + e.getMessage());
         }
@@ -109,13 +134,25 @@ public class Placeholder {
     }
 
     /**
-     * Create a new instance of {@link Placeholder} for the specified {@code pattern}.
+     * Gets the {@link Placeholder} for the specified {@code pattern}. Instances are immutable and interned so that the
+     * JSON path of a pattern is compiled only once.
      *
      * @param pattern the {@link String} placeholder pattern.
-     * @return a new instance of {@link Placeholder};
+     * @return the {@link Placeholder} instance for the specified {@code pattern}.
+     * @throws IllegalArgumentException if {@code pattern} is no placeholder pattern or its JSON path is invalid.
      */
     public static Placeholder of(String pattern) {
-        return new Placeholder(assertPattern(pattern));
+        Placeholder result = PLACEHOLDERS.get(assertPattern(pattern));
+        if (result != null) {
+            return result;
+        }
+        result = new Placeholder(pattern);
+        if (PLACEHOLDERS.size() >= MAX_CACHED_PLACEHOLDERS) {
+            // simple overflow protection for dynamically generated patterns
+            PLACEHOLDERS.clear();
+        }
+        Placeholder existing = PLACEHOLDERS.putIfAbsent(pattern, result);
+        return existing == null ? result : existing;
     }
 
     private static String assertPattern(String pattern) {
@@ -128,13 +165,25 @@ public class Placeholder {
         return pattern;
     }
 
-    private String jsonPath() {
+    private static String jsonPath(String placeholder) {
         // change $( to $. and remove trailing )
-        return placeholder.replaceFirst("\\$\\(", "\\$\\.")
-                .substring(0, placeholder.length() - 1);
+        return "$." + placeholder.substring(2, placeholder.length() - 1);
+    }
+
+    private static String root(String path) {
+        // path always starts with $.
+        int end = 2;
+        while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+            end++;
+        }
+        String result = path.substring(2, end).trim();
+        if (result.isEmpty() || result.contains("*")) {
+            return null;
+        }
+        return result;
     }
 
-    private String normalize(String pattern) {
+    private static String normalize(String pattern) {
         Matcher placeholder = PLACEHOLDER_PATTERN.matcher(pattern);
         if (placeholder.find()) {
             return placeholder.group();
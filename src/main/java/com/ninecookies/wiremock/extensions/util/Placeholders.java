@@ -1,6 +1,6 @@
 package com.ninecookies.wiremock.extensions.util;
 
-import static com.ninecookies.wiremock.extensions.util.Objects.describe;
+import static com.ninecookies.wiremock.extensions.util.Objects.describeLazily;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
@@ -14,10 +14,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Random;
 import java.util.function.Function;
-import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -26,10 +24,10 @@ import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.tomakehurst.wiremock.common.Json;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Configuration.ConfigurationBuilder;
 import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 
@@ -41,7 +39,6 @@ import com.jayway.jsonpath.Option;
  */
 public class Placeholders {
     private static final Logger LOG = LoggerFactory.getLogger(Placeholders.class);
-    private static final UnaryOperator<String> QUOTES = s -> String.format("\"%s\"", s);
     static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\(.*?\\)");
 
     // visible for testing
@@ -67,16 +64,14 @@ public class Placeholders {
 
     /**
      * Replaces all placeholders in the specified <i>jsonToTransform</i> with the related values looked up in the
-     * specified <i>placeholderSource</i>.
+     * specified <i>placeholderSource</i>. The template is compiled once and cached as {@link JsonTemplate}.
      *
      * @param placeholderSource the placeholder source {@link DocumentContext}to look up values.
      * @param jsonToTransform the template JSON string containing the placeholders.
      * @return the JSON result of the template with placeholders replaced by their related values.
      */
     public static String transformJson(DocumentContext placeholderSource, String jsonToTransform) {
-        Map<String, Object> responsePlaceholders = Placeholders.parseJsonBody(jsonToTransform);
-        Placeholders.parsePlaceholderValues(responsePlaceholders, placeholderSource);
-        return Placeholders.replaceValuesInJson(responsePlaceholders, jsonToTransform);
+        return JsonTemplate.of(jsonToTransform).render(placeholderSource);
     }
 
     /**
@@ -103,7 +98,7 @@ public class Placeholders {
         }
         Matcher isKey = KEYWORD_PATTERN.matcher(value);
         if (isKey.matches()) {
-            LOG.debug(describe(isKey));
+            LOG.debug("{}", describeLazily(isKey));
             Keyword keyword = Keyword.of(isKey.group(1));
             return String.valueOf(keyword.value(isKey.group(2)));
         }
@@ -168,84 +163,56 @@ public class Placeholders {
         if (json != null && json.trim().length() > 0) { // ? PARSE_CONTEXT.parse(json) : null;
             result = JsonPath.parse(json, JSON_CONTEXT_CONFIGURATION_BUILDER.build());
         }
-        LOG.debug("documentContextOf('{}') -> '{}'", json, describe(result));
+        LOG.debug("documentContextOf('{}') -> '{}'", json, describeLazily(result));
         return result;
     }
 
     /**
-     * Parses the specified {@code json} for placeholder patterns.<br>
-     * Note: placeholders for keywords will get their values immediately.
+     * Creates a {@link DocumentContext} for the specified {@code lazyJson} object whose properties are computed when
+     * a placeholder refers to them only.
      *
-     * @param json the JSON {@link String} that may contain placeholders.
-     * @return a {@link Map} containing entries for all found placeholders.
+     * @param lazyJson the {@link LazyJsonObject} to create the {@link DocumentContext} for.
+     * @return the {@link DocumentContext} for the specified {@code lazyJson}.
      */
-    private static Map<String, Object> parseJsonBody(String json) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(json);
-        while (matcher.find()) {
-            String placeholder = matcher.group();
-            if (result.containsKey(placeholder)) {
-                continue;
-            }
-            result.put(placeholder, populatePlaceholder(placeholder));
+    public static DocumentContext documentContextOf(LazyJsonObject lazyJson) {
+        if (lazyJson == null) {
+            throw new IllegalArgumentException("'lazyJson' must not be null");
         }
-        LOG.debug("parseJsonBody('{}') -> '{}'", json, result);
-        return result;
+        return JsonPath.parse(lazyJson, JSON_CONTEXT_CONFIGURATION_BUILDER.build());
     }
 
     /**
-     * Traverses the specified {@code placeholders} and parses the specified {@code documentContext} for each
-     * placeholder who's value is {@code null}.
+     * Parses the specified {@code json} string into its object representation to be used as property value of a
+     * {@link LazyJsonObject}.
      *
-     * @param placeholders the {@link Map} of placeholders to parse values for.
-     * @param documentContext the JSON {@link DocumentContext} to look for values.
+     * @param json the JSON {@link String} to parse.
+     * @return the parsed JSON object or {@code null} if {@code json} is {@code null}, empty or invalid.
      */
-    private static void parsePlaceholderValues(Map<String, Object> placeholders, DocumentContext documentContext) {
-        // if placeholders is null or empty or all values are set we are already done
-        if (placeholders == null || placeholders.isEmpty() || !placeholders.containsValue(null)) {
-            return;
-        }
-
-        for (Entry<String, Object> placeholder : placeholders.entrySet()) {
-            // just look for placeholders who don't have a value yet
-            if (placeholder.getValue() == null) {
-                placeholder.setValue(populatePlaceholder(placeholder.getKey(), documentContext));
-            }
+    public static Object parseJson(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return null;
         }
-        LOG.debug("parsePlaceholderValues('{}', {})", placeholders, describe(documentContext));
-    }
-
-    private static String replaceValuesInJson(Map<String, Object> placeholders, String json) {
-        String result = json;
-        for (Entry<String, Object> placeholder : placeholders.entrySet()) {
-            String pattern = placeholder.getKey();
-            String value = String.valueOf(placeholder.getValue());
-            String quotedPattern = QUOTES.apply(pattern);
-            String jsonValue = Json.write(placeholder.getValue());
-            // first replace all occurrences of "$(property.path)" with it's JSON value
-            // and then check for in string replacements like "arbitrary text with $(embedded) placeholder"
-            result = result.replace(quotedPattern, jsonValue).replace(pattern, value);
+        try {
+            return JSON_CONTEXT_CONFIGURATION_BUILDER.build().jsonProvider().parse(json);
+        } catch (InvalidJsonException e) {
+            LOG.debug("unable to parse json", e);
+            return null;
         }
-        LOG.debug("replaceValuesInJson('{}', '{}') -> '{}'", placeholders, json, result);
-        return result;
-    }
-
-    private static Object populatePlaceholder(String pattern) {
-        return populatePlaceholder(pattern, null);
     }
 
     private static Object populatePlaceholder(String pattern, DocumentContext documentContext) {
         Object result = null;
         Matcher isKey = KEYWORD_PATTERN.matcher(pattern);
         if (isKey.find()) {
-            LOG.debug(describe(isKey));
+            LOG.debug("{}", describeLazily(isKey));
             Keyword keyword = Keyword.of(isKey.group(1));
             result = keyword.value(isKey.group(2));
         } else if (documentContext != null) {
             Placeholder placeholder = Placeholder.of(pattern);
             result = placeholder.getValue(documentContext);
         }
-        LOG.debug("populatePlaceholder('{}', '{}') -> '{}'", pattern, describe(documentContext), describe(result));
+        // the document isn't described as this would require to compute a lazy placeholder source entirely
+        LOG.debug("populatePlaceholder('{}') -> '{}'", pattern, describeLazily(result));
         return result;
     }
 
@@ -0,0 +1,192 @@
+package com.ninecookies.wiremock.extensions.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Rate limits per request log events of a {@link Logger} to a maximum number of events per second and event type.
+ * <p>
+ * The format {@link String} of an event identifies its type, so that frequent events don't suppress rare ones of the
+ * same logger. Events exceeding the limit are counted and the number of suppressed events is appended to the next
+ * logged event of the same type. Warnings and errors are never sampled and should be logged with the wrapped
+ * {@link Logger} directly.
+ * <p>
+ * Read configuration properties
+ * <ul>
+ * <li>{@code LOG_EVENTS_PER_SECOND} the maximum number of events per second and event type (default 100; 0 means
+ * unlimited).
+ * <li>{@code LOG_PAYLOADS} whether callback and message payloads are logged in full (default {@code false}).
+ * </ul>
+ *
+ * @author M.Scheepers
+ * @since 0.3.1
+ */
+public final class SampledLogger {
+
+    private static final int DEFAULT_EVENTS_PER_SECOND = 100;
+    private static final int EVENTS_PER_SECOND = parseEventsPerSecond();
+    private static final boolean PAYLOADS = Boolean.parseBoolean(System.getenv("LOG_PAYLOADS"));
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_EVENT_TYPES = 1000;
+
+    private final Logger log;
+    private final int eventsPerSecond;
+    private final LongSupplier clock;
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    SampledLogger(Logger log, int eventsPerSecond, LongSupplier clock) {
+        this.log = log;
+        this.eventsPerSecond = eventsPerSecond;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the wrapped {@link Logger}.
+     *
+     * @return the wrapped {@link Logger}.
+     */
+    public Logger getLog() {
+        return log;
+    }
+
+    /**
+     * Logs the specified event at INFO level unless the limit of events per second is exceeded for its
+     * {@code format}. Each distinct {@code format} is an event type with its own limit.
+     *
+     * @param format the format {@link String} of the event.
+     * @param arguments the arguments of the event.
+     */
+    public void info(String format, Object... arguments) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        Budget budget = budget(format);
+        if (!budget.tryAcquire()) {
+            budget.suppressed.increment();
+            return;
+        }
+        long count = budget.suppressed.sumThenReset();
+        if (count > 0) {
+            // keep a trailing throwable last to have it logged with its stack trace
+            int position = arguments.length > 0 && arguments[arguments.length - 1] instanceof Throwable
+                    ? arguments.length - 1
+                    : arguments.length;
+            Object[] withCount = Arrays.copyOf(arguments, arguments.length + 1);
+            System.arraycopy(arguments, position, withCount, position + 1, arguments.length - position);
+            withCount[position] = count;
+            log.info(format + " ({} similar events suppressed)", withCount);
+        } else {
+            log.info(format, arguments);
+        }
+    }
+
+    /**
+     * Acquires a permit for an event of the specified {@code format} within the current one second window.
+     *
+     * @param format the format {@link String} of the event.
+     * @return {@code true} if the event may be logged; otherwise {@code false}.
+     */
+    boolean tryAcquire(String format) {
+        return budget(format).tryAcquire();
+    }
+
+    /**
+     * Gets the number of events of the specified {@code format} suppressed since the last logged one.
+     *
+     * @param format the format {@link String} of the event.
+     * @return the number of suppressed events.
+     */
+    long getSuppressed(String format) {
+        Budget budget = budgets.get(format);
+        return budget == null ? 0 : budget.suppressed.sum();
+    }
+
+    private Budget budget(String format) {
+        Budget result = budgets.get(format);
+        if (result == null) {
+            if (budgets.size() >= MAX_EVENT_TYPES) {
+                // formats are expected to be constants; guard against dynamically built ones
+                budgets.clear();
+            }
+            result = budgets.computeIfAbsent(format, f -> new Budget());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the specified {@code payload} as log argument if {@code LOG_PAYLOADS} is enabled; otherwise a placeholder
+     * that describes the size of character sequences only.
+     *
+     * @param payload the payload to log.
+     * @return the log argument for the specified {@code payload}.
+     */
+    public static Object payload(Object payload) {
+        return payload(payload, PAYLOADS);
+    }
+
+    static Object payload(Object payload, boolean enabled) {
+        if (enabled || payload == null) {
+            return payload;
+        }
+        if (payload instanceof CharSequence) {
+            int length = ((CharSequence) payload).length();
+            return Objects.lazy(() -> "<" + length + " chars>");
+        }
+        return "<omitted>";
+    }
+
+    /**
+     * Creates a new {@link SampledLogger} for the specified {@code log} limited to {@code LOG_EVENTS_PER_SECOND}.
+     *
+     * @param log the {@link Logger} to sample events of.
+     * @return the new {@link SampledLogger}.
+     */
+    public static SampledLogger of(Logger log) {
+        if (log == null) {
+            throw new IllegalArgumentException("'log' must not be null");
+        }
+        return new SampledLogger(log, EVENTS_PER_SECOND, System::nanoTime);
+    }
+
+    private static int parseEventsPerSecond() {
+        String value = System.getenv("LOG_EVENTS_PER_SECOND");
+        if (Strings.isNullOrEmpty(value)) {
+            return DEFAULT_EVENTS_PER_SECOND;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_EVENTS_PER_SECOND;
+        }
+    }
+
+    /**
+     * Represents the events of a single event type logged and suppressed within the current one second window.
+     */
+    private final class Budget {
+        private final AtomicLong windowStart = new AtomicLong(clock.getAsLong());
+        private final AtomicInteger events = new AtomicInteger();
+        private final LongAdder suppressed = new LongAdder();
+
+        private boolean tryAcquire() {
+            if (eventsPerSecond <= 0) {
+                return true;
+            }
+            long now = clock.getAsLong();
+            long start = windowStart.get();
+            if (now - start >= WINDOW && windowStart.compareAndSet(start, now)) {
+                // concurrent events at the window boundary may be counted in either window
+                events.set(0);
+            }
+            return events.incrementAndGet() <= eventsPerSecond;
+        }
+    }
+}
@@ -13,10 +13,12 @@ fi
 
 # Add `java -jar /wiremock-standalone.jar` as command if needed
 if [ "${1:0:1}" = "-" ]; then
-	set -- java $JAVA_OPTS -Dlog4j.configurationFile="/var/wiremock/lib/log4j2.xml" \
+	# drop events below WARN instead of blocking if the asynchronous logging ring buffer is full
+	set -- java -Dlog4j2.asyncQueueFullPolicy=Discard -Dlog4j2.discardThreshold=INFO \
+	$JAVA_OPTS -Dlog4j.configurationFile="/var/wiremock/lib/log4j2.xml" \
 	-cp /var/wiremock/lib/*:/var/wiremock/extensions/* \
 	com.github.tomakehurst.wiremock.standalone.WireMockServerRunner \
-	--extensions com.ninecookies.wiremock.extensions.JsonBodyTransformer,com.ninecookies.wiremock.extensions.CallbackSimulator,com.ninecookies.wiremock.extensions.RequestTimeMatcher \
+	--extensions com.ninecookies.wiremock.extensions.JsonBodyTransformer,com.ninecookies.wiremock.extensions.CallbackSimulator,com.ninecookies.wiremock.extensions.RequestTimeMatcher,com.ninecookies.wiremock.extensions.MetricsAdminExtension \
 	"$@"
 fi
 
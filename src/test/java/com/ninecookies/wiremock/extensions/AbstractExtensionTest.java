@@ -45,7 +45,8 @@ public class AbstractExtensionTest {
 
         wireMockServer = new WireMockServer(wireMockConfig()
                 .port(SERVER_PORT)
-                .extensions(new CallbackSimulator(), new JsonBodyTransformer(), new RequestTimeMatcher()));
+                .extensions(new CallbackSimulator(), new JsonBodyTransformer(), new RequestTimeMatcher(),
+                        new MetricsAdminExtension()));
         wireMockServer.start();
 
         RestAssured.port = SERVER_PORT;
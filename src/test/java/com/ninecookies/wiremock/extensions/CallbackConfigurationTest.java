@@ -2,7 +2,9 @@ package com.ninecookies.wiremock.extensions;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -22,6 +24,20 @@ public class CallbackConfigurationTest {
         SystemUtil.setenv("SCHEDULED_THREAD_POOL_SIZE", "100");
         SystemUtil.setenv("RETRY_BACKOFF", "2500");
         SystemUtil.setenv("MAX_RETRIES", "3");
+        SystemUtil.setenv("HTTP_MAX_CONNECTIONS", "20");
+        SystemUtil.setenv("HTTP_MAX_CONNECTIONS_PER_ROUTE", "10");
+        SystemUtil.setenv("HTTP_IDLE_TIMEOUT", "1000");
+        SystemUtil.setenv("HTTP_KEEP_ALIVE", "2000");
+        SystemUtil.setenv("SQS_BATCH_LINGER", "5");
+        SystemUtil.setenv("CALLBACK_SCHEDULER", "Wheel");
+        SystemUtil.setenv("TIMING_WHEEL_TICK", "5");
+        SystemUtil.setenv("CALLBACK_TARGET_CONCURRENCY", "4");
+        SystemUtil.setenv("CALLBACK_EXECUTOR", " VIRTUAL ");
+        SystemUtil.setenv("CALLBACK_INGESTION_THREADS", "0");
+        SystemUtil.setenv("CALLBACK_INGESTION_QUEUE", "-1");
+        SystemUtil.setenv("SNS_BATCH_LINGER", "10");
+        SystemUtil.setenv("SNS_TOPIC_REFRESH", "0");
+        SystemUtil.setenv("SNS_TOPIC_NEGATIVE_TTL", "500");
         SystemUtil.setenv("AWS_REGION", "");
 
         Constructor<CallbackConfiguration> ctor = CallbackConfiguration.class.getDeclaredConstructor();
@@ -33,6 +49,26 @@ public class CallbackConfigurationTest {
         assertEquals(config.getCorePoolSize(), 100);
         assertEquals(config.getMaxRetries(), 3);
         assertEquals(config.getRetryBackoff(), 2_500);
+        assertEquals(config.getHttpMaxConnections(), 20);
+        assertEquals(config.getHttpMaxConnectionsPerRoute(), 10);
+        assertEquals(config.getHttpIdleTimeout(), 1_000);
+        assertEquals(config.getHttpKeepAlive(), 2_000);
+        assertNotNull(config.getHttpClient());
+        assertEquals(config.getSqsBatchLinger(), 5);
+        assertTrue(config.isSqsBatchingEnabled());
+        assertEquals(config.getCallbackScheduler(), "wheel");
+        assertTrue(config.isTimingWheelEnabled());
+        assertEquals(config.getTimingWheelTick(), 5);
+        assertEquals(config.getCallbackTargetConcurrency(), 4);
+        assertEquals(config.getCallbackExecutor(), "virtual");
+        assertTrue(config.isVirtualThreadsEnabled());
+        assertEquals(config.getCallbackIngestionThreads(), 0);
+        assertFalse(config.isAsyncIngestionEnabled());
+        assertEquals(config.getCallbackIngestionQueue(), 10_000);
+        assertEquals(config.getSnsBatchLinger(), 10);
+        assertTrue(config.isSnsBatchingEnabled());
+        assertEquals(config.getSnsTopicRefresh(), 0);
+        assertEquals(config.getSnsTopicNegativeTtl(), 500);
         assertFalse(config.isMessagingEnabled());
         assertNull(config.createConnectionFactory());
         assertNull(config.createConnection());
@@ -0,0 +1,100 @@
+package com.ninecookies.wiremock.extensions;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.ninecookies.wiremock.extensions.SqsCallbackHandler.SqsCallback;
+
+public class CallbackDeliveryTest {
+
+    private ExecutorService workers;
+    private CallbackStore store;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        workers = Executors.newFixedThreadPool(8);
+        store = new MemoryCallbackStore();
+    }
+
+    @AfterMethod
+    public void afterMethod() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    public void testSlowTargetDoesNotDelayOtherTargets() throws InterruptedException {
+        CallbackDelivery delivery = new CallbackDelivery(workers, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        CountDownLatch slowDone = new CountDownLatch(6);
+        for (int i = 0; i < 6; i++) {
+            delivery.execute(new TestHandler(store, "slow", () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                await(release);
+                active.decrementAndGet();
+                slowDone.countDown();
+            }));
+        }
+        assertEquals(delivery.queued(), 4);
+
+        CountDownLatch fastDone = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            delivery.execute(new TestHandler(store, "fast", fastDone::countDown));
+        }
+        assertTrue(fastDone.await(5, TimeUnit.SECONDS), "fast target delayed by slow target");
+
+        release.countDown();
+        assertTrue(slowDone.await(5, TimeUnit.SECONDS));
+        assertEquals(maxActive.get(), 2);
+        assertEquals(delivery.queued(), 0);
+    }
+
+    @Test
+    public void testUnlimitedDelivery() throws InterruptedException {
+        CallbackDelivery delivery = new CallbackDelivery(workers, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            delivery.execute(new TestHandler(store, "target", () -> {
+                started.countDown();
+                await(release);
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(delivery.queued(), 0);
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TestHandler extends AbstractCallbackHandler<SqsCallback> {
+        private final Runnable action;
+
+        private TestHandler(CallbackStore store, String target, Runnable action) {
+            super(null, store, store.persist(new SqsCallback(), 0), target, SqsCallback.class);
+            this.action = action;
+        }
+
+        @Override
+        protected void handle(SqsCallback callback) {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ninecookies.wiremock.extensions;
+
+import static com.ninecookies.wiremock.extensions.util.Maps.entry;
+import static com.ninecookies.wiremock.extensions.util.Maps.mapOf;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.ninecookies.wiremock.extensions.CallbackPlan.Type;
+import com.ninecookies.wiremock.extensions.api.Callback;
+import com.ninecookies.wiremock.extensions.api.Callbacks;
+import com.ninecookies.wiremock.extensions.util.Placeholders;
+
+public class CallbackPlanTest {
+
+    @Test
+    public void testBindParameters() {
+        Callbacks callbacks = Callbacks.of(
+                Callback.of(100, "http://localhost/$(urlParts[0])", "user", "pass", "trace",
+                        mapOf(entry("id", "$(request.id)"))),
+                Callback.ofQueueMessage(200, "queue-$(request.id)", mapOf(entry("id", "$(request.id)"))),
+                Callback.ofTopicMessage(300, "topic", null));
+        List<CallbackPlan> plans = CallbackPlan.of(Parameters.of(callbacks));
+
+        assertEquals(plans.size(), 3);
+        CallbackPlan http = planOf(plans, Type.HTTP);
+        assertEquals(http.getDelay(), 100);
+        assertEquals(http.getDestination(), "http://localhost/$(urlParts[0])");
+        assertEquals(http.getAuthentication().getUsername(), "user");
+        assertEquals(http.getTraceId(), "trace");
+        assertEquals(Json.node(http.renderData(Placeholders.documentContextOf("{\"request\":{\"id\":\"a\"}}"))),
+                Json.node("{\"id\":\"a\"}"));
+
+        CallbackPlan sqs = planOf(plans, Type.SQS);
+        assertEquals(sqs.getDelay(), 200);
+        assertEquals(sqs.getDestination(), "queue-$(request.id)");
+        assertNull(sqs.getAuthentication());
+
+        CallbackPlan sns = planOf(plans, Type.SNS);
+        assertEquals(sns.getDestination(), "topic");
+        assertEquals(sns.renderData(null), "null");
+    }
+
+    @Test
+    public void testUnknownCallbackType() {
+        assertThrows(IllegalStateException.class, () -> CallbackPlan.of(new Callback()));
+    }
+
+    private static CallbackPlan planOf(List<CallbackPlan> plans, Type type) {
+        // the callback definitions are bound from a set thus the order isn't defined
+        return plans.stream().filter(p -> p.getType() == type).findFirst().orElseThrow(AssertionError::new);
+    }
+}
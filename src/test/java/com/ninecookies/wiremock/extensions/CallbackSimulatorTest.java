@@ -15,6 +15,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.jayway.restassured.RestAssured.given;
 import static com.ninecookies.wiremock.extensions.util.Maps.entry;
 import static com.ninecookies.wiremock.extensions.util.Maps.mapOf;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.Instant;
@@ -22,12 +23,15 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import com.amazonaws.services.sqs.model.Message;
 import com.amazonaws.services.sqs.model.PurgeQueueRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.tomakehurst.wiremock.client.BasicCredentials;
 import com.github.tomakehurst.wiremock.common.Json;
@@ -488,6 +492,47 @@ public class CallbackSimulatorTest extends AbstractExtensionTest {
         assertTrue(messages.isEmpty(), "unexpected messages received");
     }
 
+    @Test
+    public void testSqsMessageCallback() {
+        String requestUrl = "/request/sqs/callback";
+        String requestBody = "{\"code\":\"request-code\"}";
+        String responseBody = "{\"id\":\"$(!UUID)\"}";
+
+        Map<String, Object> sqsCallbackData = mapOf(entry("response_id", "$(response.id)"),
+                entry("data", "sqs-data"),
+                entry("request_code", "$(request.code)"));
+
+        Callbacks callbacks = Callbacks.of(
+                Callback.ofQueueMessage(100, QUEUE_NAME, sqsCallbackData),
+                Callback.ofQueueMessage(150, "$(!ENV[CALLBACK_QUEUE])", sqsCallbackData));
+
+        stubFor(post(urlEqualTo(requestUrl))
+                .withPostServeAction("callback-simulator", callbacks)
+                .willReturn(aResponse()
+                        .withHeader("content-type", "application/json")
+                        .withBody(responseBody)
+                        .withTransformers("json-body-transformer")
+                        .withStatus(201)));
+
+        String responseJson = given().body(requestBody).contentType("application/json")
+                .when().post(requestUrl)
+                .then().statusCode(201)
+                .extract().asString();
+        String id = Json.node(responseJson).get("id").textValue();
+        sleep();
+
+        List<Message> messages = sqsClient
+                .receiveMessage(new ReceiveMessageRequest(sqsClient.getQueueUrl(QUEUE_NAME).getQueueUrl())
+                        .withMaxNumberOfMessages(10))
+                .getMessages();
+        assertEquals(messages.size(), 2);
+        for (Message message : messages) {
+            JsonNode body = Json.node(message.getBody());
+            assertEquals(body.get("response_id").textValue(), id);
+            assertEquals(body.get("request_code").textValue(), "request-code");
+        }
+    }
+
     @Test
     public void testInvalidCallbackWithoutQueueAndUrl() {
         String requestUrl = "/request/sqs/invalid";
@@ -536,4 +581,17 @@ public class CallbackSimulatorTest extends AbstractExtensionTest {
             throw new IllegalStateException(e);
         }
     }
+
+    @Test
+    public void testDeliveryExecutor() throws Exception {
+        // virtual threads fall back to platform threads on runtimes without support
+        for (boolean virtual : new boolean[] { false, true }) {
+            ExecutorService executor = CallbackSimulator.createDeliveryExecutor(virtual, 2);
+            try {
+                assertEquals(executor.submit(() -> "done").get(5, TimeUnit.SECONDS), "done");
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package com.ninecookies.wiremock.extensions;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.ninecookies.wiremock.extensions.CallbackStore.PendingCallback;
+import com.ninecookies.wiremock.extensions.SqsCallbackHandler.SqsCallback;
+
+public class CallbackStoreTest {
+
+    @DataProvider
+    public Object[][] stores() throws IOException {
+        return new Object[][] {
+                { new MemoryCallbackStore() },
+                { new FileCallbackStore() },
+                { new JournalCallbackStore(Files.createTempDirectory("callback-journal-")) }
+        };
+    }
+
+    @Test(dataProvider = "stores")
+    public void testPersistReadDelete(CallbackStore store) {
+        SqsCallback callback = new SqsCallback();
+        callback.delay = 100;
+        callback.queue = "queue-name";
+        callback.data = "{\"id\":\"value\"}";
+
+        String id = store.persist(callback, System.currentTimeMillis() + callback.delay);
+        SqsCallback result = store.read(id, SqsCallback.class);
+        assertEquals(result.delay, callback.delay);
+        assertEquals(result.queue, callback.queue);
+        assertEquals(result.data, callback.data);
+
+        store.delete(id);
+        assertThrows(IllegalStateException.class, () -> store.read(id, SqsCallback.class));
+        // deleting twice is no error
+        store.delete(id);
+    }
+
+    @Test
+    public void testJournalRecovery() throws IOException {
+        Path directory = Files.createTempDirectory("callback-journal-");
+        JournalCallbackStore store = new JournalCallbackStore(directory);
+        assertTrue(store.recover().isEmpty());
+
+        long servedAt = System.currentTimeMillis();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            SqsCallback callback = new SqsCallback();
+            callback.delay = 1_000 - i * 100;
+            callback.queue = "queue-" + i;
+            ids.add(store.persist(callback, servedAt + callback.delay));
+        }
+        store.delete(ids.get(1));
+        store.delete(ids.get(3));
+
+        JournalCallbackStore recovered = new JournalCallbackStore(directory);
+        List<PendingCallback> pending = recovered.recover();
+        assertEquals(pending.size(), 3);
+        // ordered by due time
+        assertEquals(pending.get(0).getId(), ids.get(4));
+        assertEquals(pending.get(1).getId(), ids.get(2));
+        assertEquals(pending.get(2).getId(), ids.get(0));
+        assertEquals(pending.get(0).getType(), SqsCallback.class.getName());
+        // the absolute due time is kept regardless of when the callback was persisted
+        assertEquals(pending.get(0).getDueAt(), servedAt + 600);
+        assertEquals(recovered.read(ids.get(2), SqsCallback.class).queue, "queue-2");
+        // pending callbacks are recovered once only
+        assertTrue(recovered.recover().isEmpty());
+        // new callbacks don't reuse recovered ids
+        assertFalse(ids.contains(recovered.persist(new SqsCallback(), servedAt)));
+    }
+
+    @Test
+    public void testJournalCompaction() throws IOException {
+        Path directory = Files.createTempDirectory("callback-journal-");
+        JournalCallbackStore store = new JournalCallbackStore(directory, 1_024);
+
+        SqsCallback callback = new SqsCallback();
+        callback.queue = "queue-name";
+        callback.data = "{\"padding\":\"0123456789012345678901234567890123456789\"}";
+        String retained = store.persist(callback, 0);
+        for (int i = 0; i < 200; i++) {
+            store.delete(store.persist(callback, 0));
+        }
+        assertTrue(store.segments() <= 2, "unexpected segments " + store.segments());
+        assertEquals(store.read(retained, SqsCallback.class).queue, "queue-name");
+
+        List<PendingCallback> pending = new JournalCallbackStore(directory, 1_024).recover();
+        assertEquals(pending.size(), 1);
+        assertEquals(pending.get(0).getId(), retained);
+    }
+}
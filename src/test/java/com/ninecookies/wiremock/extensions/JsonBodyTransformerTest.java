@@ -132,6 +132,23 @@ public class JsonBodyTransformerTest extends AbstractExtensionTest {
         verify(postRequestedFor(urlEqualTo(url)));
     }
 
+    @Test
+    public void transformBodyStubbingWithPathPartOnly() {
+        String url = "/stub/path/only";
+
+        String responseBody = "{\"path_part\": \"$(urlParts[1])\", \"id\": \"$(!UUID)\"}";
+
+        stubFor(post(urlEqualTo(url)).willReturn(aResponse().withStatus(201)
+                .withHeader("content-type", CONTENT_TYPE).withBody(responseBody).withTransformers(BODY_TRANSFORMER)));
+
+        // the request body isn't parsed at all as the template doesn't refer to it
+        Response response = given().contentType(CONTENT_TYPE).body("no json").when().post(url);
+
+        response.then().statusCode(201).body("path_part", equalTo("path"));
+
+        verify(postRequestedFor(urlEqualTo(url)));
+    }
+
     @Test
     public void transformBodyInlineMapping() {
         String url = "/inline/response";
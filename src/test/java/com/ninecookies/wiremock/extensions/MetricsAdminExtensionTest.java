@@ -0,0 +1,98 @@
+package com.ninecookies.wiremock.extensions;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.jayway.restassured.RestAssured.given;
+import static com.ninecookies.wiremock.extensions.util.Maps.entry;
+import static com.ninecookies.wiremock.extensions.util.Maps.mapOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.ninecookies.wiremock.extensions.api.Callbacks;
+
+public class MetricsAdminExtensionTest extends AbstractExtensionTest {
+
+    // nothing listens on this port thus the callback fails immediately
+    private static final String UNREACHABLE_TARGET = "http://localhost:1";
+
+    @Test
+    public void testCallbackMetrics() throws InterruptedException {
+        String requestUrl = "/metrics/request";
+        stubFor(post(urlEqualTo(requestUrl))
+                .withPostServeAction("callback-simulator", Callbacks.of(100,
+                        UNREACHABLE_TARGET + "/metrics/callback", mapOf(entry("code", "$(request.code)"))))
+                .willReturn(aResponse().withStatus(201)));
+
+        given().body("{\"code\":\"metrics\"}").contentType("application/json")
+                .when().post(requestUrl)
+                .then().statusCode(201);
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        String metrics = given().when().get("/__admin/metrics")
+                .then().statusCode(200).contentType("text/plain")
+                .extract().asString();
+        assertTrue(metrics.contains("callbacks_scheduled_total{type=\"http\""), metrics);
+        assertTrue(metrics.contains("callbacks_delivery_seconds_count{outcome=\"failed\",target=\""
+                + UNREACHABLE_TARGET + "\",type=\"http\""), metrics);
+        assertTrue(metrics.contains("callbacks_lateness_seconds_bucket{type=\"http\""), metrics);
+        assertTrue(metrics.contains("callbacks_pending "), metrics);
+        assertTrue(metrics.contains("callbacks_timer_queued{instance="), metrics);
+        assertTrue(metrics.contains("callbacks_delivery_queued{instance="), metrics);
+        // delivery timers are plain summaries since their series grow with every target
+        assertFalse(metrics.contains("callbacks_delivery_seconds_bucket"), metrics);
+    }
+
+    @Test
+    public void testGaugesPerInstance() {
+        AtomicInteger first = new AtomicInteger(1);
+        AtomicInteger second = new AtomicInteger(2);
+        ExtensionMetrics.getInstance().gauge("test.queued", 1, first, AtomicInteger::get);
+        ExtensionMetrics.getInstance().gauge("test.queued", 2, second, AtomicInteger::get);
+
+        String metrics = ExtensionMetrics.getInstance().scrape();
+        assertTrue(metrics.contains("test_queued{instance=\"1\",} 1.0"), metrics);
+        assertTrue(metrics.contains("test_queued{instance=\"2\",} 2.0"), metrics);
+    }
+
+    @Test
+    public void testTransformerAndMatcherMetrics() {
+        String requestUrl = "/metrics/transform";
+        stubFor(post(urlEqualTo(requestUrl))
+                .andMatching("request-time-matcher", Parameters.one("pattern", ".*"))
+                .willReturn(aResponse()
+                        .withHeader("content-type", "application/json")
+                        .withBody("{\"id\":\"$(!UUID)\",\"code\":\"$(code)\"}")
+                        .withTransformers("json-body-transformer")
+                        .withTransformerParameter("stub", "metrics-transform")
+                        .withStatus(201)));
+
+        given().body("{\"code\":\"metrics\"}").contentType("application/json")
+                .when().post(requestUrl)
+                .then().statusCode(201).body("code", equalTo("metrics"));
+
+        String metrics = given().when().get("/__admin/metrics")
+                .then().statusCode(200)
+                .extract().asString();
+        for (String phase : new String[] { "template", "parse", "resolve", "render" }) {
+            assertTrue(metrics.contains("transformer_phase_seconds_count{phase=\"" + phase
+                    + "\",stub=\"metrics-transform\""), metrics);
+        }
+        // phase timers are plain summaries without histogram buckets
+        assertFalse(metrics.contains("transformer_phase_seconds_bucket"), metrics);
+        assertTrue(metrics.contains("transformer_bytes_count{direction=\"out\",stub=\"metrics-transform\""),
+                metrics);
+        assertTrue(metrics.contains("transformer_placeholders_sum{stub=\"metrics-transform\",} 2.0"), metrics);
+        assertTrue(metrics.contains("templates_cache_total{result=\"hit\""), metrics);
+        assertTrue(metrics.contains("matcher_evaluation_seconds_count{matcher=\"request-time-matcher\","
+                + "result=\"match\""), metrics);
+    }
+}
@@ -106,4 +106,25 @@ public class RequestTimeMatcherTest extends AbstractExtensionTest {
                 .willReturn(aResponse().withStatus(200)));
         when().get(URL).then().statusCode(400);
     }
+
+    @Test
+    public void testRequestTimeMatcherMatchesTimeWindow() {
+        Parameters parameters = Parameters.one("daysOfWeek", "MON-SUN");
+        parameters.put("hours", "0-23");
+        parameters.put("after", "2021-03-31T00:00:00Z");
+        stubFor(any(urlEqualTo(URL))
+                .atPriority(3)
+                .andMatching("request-time-matcher", parameters)
+                .willReturn(aResponse().withStatus(200)));
+        when().get(URL).then().statusCode(200);
+    }
+
+    @Test
+    public void testRequestTimeMatcherNotMatchesPastTimeWindow() {
+        stubFor(any(urlEqualTo(URL))
+                .atPriority(3)
+                .andMatching("request-time-matcher", Parameters.one("before", "2021-03-31T00:00:00Z"))
+                .willReturn(aResponse().withStatus(200)));
+        when().get(URL).then().statusCode(400);
+    }
 }
@@ -0,0 +1,123 @@
+package com.ninecookies.wiremock.extensions;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Instant;
+
+import org.testng.annotations.Test;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+
+public class RequestTimeWindowTest {
+
+    // a wednesday
+    private static final long TIME = Instant.parse("2021-03-31T10:15:30.000Z").toEpochMilli();
+
+    @Test
+    public void testEmptyParametersNeverMatch() {
+        assertFalse(RequestTimeWindow.of(Parameters.empty()).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("pattern", "")).matches(TIME));
+    }
+
+    @Test
+    public void testPattern() {
+        assertTrue(RequestTimeWindow.of(Parameters.one("pattern", ".*T10:1\\d:.*")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("pattern", ".*T10:2\\d:.*")).matches(TIME));
+    }
+
+    @Test
+    public void testAfterAndBefore() {
+        Parameters parameters = parameters("after", "2021-03-31T10:15:30Z", "before", "2021-03-31T10:16:00Z");
+        RequestTimeWindow window = RequestTimeWindow.of(parameters);
+        assertTrue(window.matches(TIME));
+        assertFalse(window.matches(TIME - 1));
+        assertTrue(window.matches(TIME + 29_999));
+        assertFalse(window.matches(TIME + 30_000));
+    }
+
+    @Test
+    public void testDaysHoursAndMinutes() {
+        assertTrue(RequestTimeWindow.of(Parameters.one("daysOfWeek", "MON-FRI")).matches(TIME));
+        assertTrue(RequestTimeWindow.of(Parameters.one("daysOfWeek", "wednesday")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("daysOfWeek", "SAT,SUN")).matches(TIME));
+        assertTrue(RequestTimeWindow.of(Parameters.one("hours", "9-11")).matches(TIME));
+        assertTrue(RequestTimeWindow.of(Parameters.one("hours", 10)).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("hours", "0-9,11-23")).matches(TIME));
+        assertTrue(RequestTimeWindow.of(Parameters.one("minutes", "10-19,40-49")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("minutes", "20-39")).matches(TIME));
+        // days before the epoch
+        assertTrue(RequestTimeWindow.of(Parameters.one("daysOfWeek", "WED"))
+                .matches(Instant.parse("1969-12-31T23:59:59.999Z").toEpochMilli()));
+    }
+
+    @Test
+    public void testWrappingRanges() {
+        assertTrue(RequestTimeWindow.of(Parameters.one("daysOfWeek", "TUE-MON")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("daysOfWeek", "THU-TUE")).matches(TIME));
+        assertTrue(RequestTimeWindow.of(Parameters.one("minutes", "50-15")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("minutes", "40-10")).matches(TIME));
+        assertTrue(RequestTimeWindow.of(Parameters.one("timesOfDay", "22:00-10:16")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("timesOfDay", "22:00-10:15")).matches(TIME));
+    }
+
+    @Test
+    public void testTimesOfDay() {
+        RequestTimeWindow window = RequestTimeWindow.of(Parameters.one("timesOfDay", "08:30-10:15, 10:16-17:15"));
+        assertFalse(window.matches(TIME));
+        assertTrue(window.matches(TIME - 30_001));
+        assertTrue(window.matches(TIME + 30_000));
+    }
+
+    @Test
+    public void testTimeZone() {
+        // 10:15 UTC is 12:15 CEST and 19:15 JST
+        assertTrue(RequestTimeWindow.of(parameters("hours", "12", "timeZone", "Europe/Berlin"))
+                .matches(TIME));
+        assertTrue(RequestTimeWindow.of(parameters("timesOfDay", "19:00-19:30", "timeZone", "+09:00")).matches(TIME));
+        // 23:30 UTC on a tuesday is wednesday in Tokyo
+        assertTrue(RequestTimeWindow.of(parameters("daysOfWeek", "WED", "timeZone", "Asia/Tokyo"))
+                .matches(Instant.parse("2021-03-30T23:30:00Z").toEpochMilli()));
+    }
+
+    @Test
+    public void testStateIsReevaluatedPerMinute() {
+        RequestTimeWindow window = RequestTimeWindow.of(Parameters.one("minutes", "15"));
+        assertTrue(window.matches(TIME));
+        assertTrue(window.matches(TIME + 29_999));
+        assertFalse(window.matches(TIME + 30_000));
+        assertTrue(window.matches(TIME - 30_000));
+        assertFalse(window.matches(TIME - 30_001));
+    }
+
+    @Test
+    public void testAllParametersMustMatch() {
+        Parameters parameters = parameters("daysOfWeek", "WED", "hours", "11");
+        assertFalse(RequestTimeWindow.of(parameters).matches(TIME));
+    }
+
+    @Test
+    public void testInvalidParametersNeverMatch() {
+        assertFalse(RequestTimeWindow.of(Parameters.one("pattern", "[")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("after", "yesterday")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("daysOfWeek", "MO")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("hours", "24")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("minutes", "60")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(Parameters.one("timesOfDay", "10:00")).matches(TIME));
+        assertFalse(RequestTimeWindow.of(parameters("hours", "10", "timeZone", "Mars/Olympus"))
+                .matches(TIME));
+    }
+
+    @Test
+    public void testWindowsAreCached() {
+        assertSame(RequestTimeWindow.of(Parameters.one("hours", "10")),
+                RequestTimeWindow.of(Parameters.one("hours", "10")));
+    }
+
+    private static Parameters parameters(String name1, String value1, String name2, String value2) {
+        Parameters result = Parameters.one(name1, value1);
+        result.put(name2, value2);
+        return result;
+    }
+}
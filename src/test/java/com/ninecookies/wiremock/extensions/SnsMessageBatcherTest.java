@@ -0,0 +1,112 @@
+package com.ninecookies.wiremock.extensions;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.amazonaws.services.sns.AbstractAmazonSNS;
+import com.amazonaws.services.sns.model.BatchResultErrorEntry;
+import com.amazonaws.services.sns.model.PublishBatchRequest;
+import com.amazonaws.services.sns.model.PublishBatchRequestEntry;
+import com.amazonaws.services.sns.model.PublishBatchResult;
+import com.amazonaws.services.sns.model.PublishBatchResultEntry;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.CallbackException;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.RetryCallbackException;
+
+public class SnsMessageBatcherTest {
+
+    private static final String TOPIC_ARN = "arn:aws:sns:us-east-1:123456789012:test-topic-name";
+
+    private BatchPublishing client;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        client = new BatchPublishing();
+    }
+
+    @Test
+    public void testConcurrentMessagesArePublished() throws Exception {
+        SnsMessageBatcher batcher = new SnsMessageBatcher(client, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(25);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                String message = "{\"index\":" + i + "}";
+                results.add(executor.submit(() -> {
+                    batcher.sendMessage(TOPIC_ARN, message);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(client.published.size(), 25);
+        assertTrue(client.requests.size() < 25, "requests: " + client.requests.size());
+        for (PublishBatchRequest request : client.requests) {
+            assertEquals(request.getTopicArn(), TOPIC_ARN);
+            assertTrue(request.getPublishBatchRequestEntries().size() <= 10);
+        }
+    }
+
+    @Test
+    public void testFailedEntriesAreRetriedUnlessSenderFault() {
+        SnsMessageBatcher batcher = new SnsMessageBatcher(client, 0);
+        CallbackException invalid = expectThrows(CallbackException.class,
+                () -> batcher.sendMessage(TOPIC_ARN, "invalid"));
+        assertEquals(invalid.getClass(), CallbackException.class);
+        assertThrows(RetryCallbackException.class, () -> batcher.sendMessage(TOPIC_ARN, "throttled"));
+        assertEquals(client.published.size(), 0);
+    }
+
+    @Test
+    public void testFailedBatchIsRetried() {
+        SnsMessageBatcher batcher = new SnsMessageBatcher(client, 0);
+        client.failing = true;
+        assertThrows(RetryCallbackException.class, () -> batcher.sendMessage(TOPIC_ARN, "{}"));
+    }
+
+    private static class BatchPublishing extends AbstractAmazonSNS {
+        private final List<PublishBatchRequest> requests = new CopyOnWriteArrayList<>();
+        private final Set<String> published = ConcurrentHashMap.newKeySet();
+        private volatile boolean failing;
+
+        @Override
+        public PublishBatchResult publishBatch(PublishBatchRequest request) {
+            requests.add(request);
+            if (failing) {
+                throw new IllegalStateException("publishing failed");
+            }
+            PublishBatchResult result = new PublishBatchResult();
+            for (PublishBatchRequestEntry entry : request.getPublishBatchRequestEntries()) {
+                if ("invalid".equals(entry.getMessage())) {
+                    result.withFailed(new BatchResultErrorEntry().withId(entry.getId())
+                            .withCode("InvalidParameter").withSenderFault(true));
+                } else if ("throttled".equals(entry.getMessage())) {
+                    result.withFailed(new BatchResultErrorEntry().withId(entry.getId())
+                            .withCode("Throttled").withSenderFault(false));
+                } else {
+                    published.add(entry.getMessage());
+                    result.withSuccessful(new PublishBatchResultEntry().withId(entry.getId()));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ninecookies.wiremock.extensions;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.amazonaws.services.sns.AbstractAmazonSNS;
+import com.amazonaws.services.sns.model.ListTopicsResult;
+import com.amazonaws.services.sns.model.Topic;
+
+public class SnsTopicIndexTest {
+
+    private static final String ARN = "arn:aws:sns:us-east-1:123456789012:";
+
+    private TopicListing client;
+    private AtomicLong clock;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        client = new TopicListing();
+        client.topics.add(ARN + "my-orders");
+        client.topics.add(ARN + "orders");
+        client.topics.add(ARN + "payments");
+        clock = new AtomicLong(1_000);
+    }
+
+    @Test
+    public void testIndexIsBuiltOnce() {
+        SnsTopicIndex index = new SnsTopicIndex(client, 0, 10_000, clock::get);
+        // 3 topics listed with a page size of 2
+        assertEquals(client.requests.get(), 2);
+        assertEquals(index.size(), 3);
+        assertEquals(index.resolve("orders"), ARN + "orders");
+        assertEquals(index.resolve("my-orders"), ARN + "my-orders");
+        assertEquals(index.resolve("payments"), ARN + "payments");
+        assertEquals(index.resolve(ARN + "unknown"), ARN + "unknown");
+        assertEquals(client.requests.get(), 2);
+    }
+
+    @Test
+    public void testUnresolvableTopicsExpire() {
+        SnsTopicIndex index = new SnsTopicIndex(client, 0, 10_000, clock::get);
+        clock.addAndGet(1);
+        assertNull(index.resolve("created-later"));
+        assertEquals(client.requests.get(), 4);
+
+        client.topics.add(ARN + "created-later");
+        clock.addAndGet(9_999);
+        assertNull(index.resolve("created-later"));
+        assertEquals(client.requests.get(), 4);
+
+        clock.addAndGet(1);
+        assertEquals(index.resolve("created-later"), ARN + "created-later");
+        assertEquals(client.requests.get(), 6);
+    }
+
+    @Test
+    public void testConcurrentMissesShareRefresh() {
+        SnsTopicIndex index = new SnsTopicIndex(client, 0, 10_000, clock::get);
+        clock.addAndGet(1);
+        assertNull(index.resolve("first-unknown"));
+        assertNull(index.resolve("second-unknown"));
+        assertEquals(client.requests.get(), 4);
+    }
+
+    @Test
+    public void testFailedRefreshKeepsIndex() {
+        SnsTopicIndex index = new SnsTopicIndex(client, 0, 10_000, clock::get);
+        client.failing = true;
+        clock.addAndGet(1);
+        assertNull(index.resolve("unknown"));
+        assertEquals(index.resolve("orders"), ARN + "orders");
+    }
+
+    @Test
+    public void testBackgroundRefresh() throws InterruptedException {
+        try (SnsTopicIndex index = new SnsTopicIndex(client, 50, 10_000)) {
+            client.topics.add(ARN + "background");
+            for (int i = 0; i < 50 && index.size() < 4; i++) {
+                Thread.sleep(20);
+            }
+            assertEquals(index.size(), 4);
+        }
+    }
+
+    private static class TopicListing extends AbstractAmazonSNS {
+        private static final int PAGE_SIZE = 2;
+        private final List<String> topics = new CopyOnWriteArrayList<>();
+        private final AtomicInteger requests = new AtomicInteger();
+        private volatile boolean failing;
+
+        @Override
+        public ListTopicsResult listTopics() {
+            return listTopics("0");
+        }
+
+        @Override
+        public ListTopicsResult listTopics(String nextToken) {
+            requests.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("listing failed");
+            }
+            int start = Integer.parseInt(nextToken);
+            List<Topic> page = new ArrayList<>();
+            for (int i = start; i < Math.min(start + PAGE_SIZE, topics.size()); i++) {
+                page.add(new Topic().withTopicArn(topics.get(i)));
+            }
+            String next = start + PAGE_SIZE < topics.size() ? String.valueOf(start + PAGE_SIZE) : null;
+            return new ListTopicsResult().withTopics(page).withNextToken(next);
+        }
+    }
+}
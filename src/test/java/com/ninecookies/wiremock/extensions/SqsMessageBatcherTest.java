@@ -0,0 +1,67 @@
+package com.ninecookies.wiremock.extensions;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.PurgeQueueRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.ninecookies.wiremock.extensions.AbstractCallbackHandler.RetryCallbackException;
+
+public class SqsMessageBatcherTest extends AbstractExtensionTest {
+
+    private static final String QUEUE_NAME = "test-queue-name";
+
+    @BeforeMethod
+    public void beforeMethod() {
+        sqsClient.purgeQueue(new PurgeQueueRequest(sqsClient.getQueueUrl(QUEUE_NAME).getQueueUrl()));
+    }
+
+    @Test
+    public void testConcurrentMessagesArePublished() throws Exception {
+        SqsMessageBatcher batcher = new SqsMessageBatcher(sqsClient, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(25);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                String message = "{\"index\":" + i + "}";
+                results.add(executor.submit(() -> {
+                    batcher.sendMessage(QUEUE_NAME, message);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Set<String> received = new HashSet<>();
+        String queueUrl = sqsClient.getQueueUrl(QUEUE_NAME).getQueueUrl();
+        for (int i = 0; i < 10 && received.size() < 25; i++) {
+            for (Message message : sqsClient.receiveMessage(new ReceiveMessageRequest(queueUrl)
+                    .withMaxNumberOfMessages(10)).getMessages()) {
+                received.add(message.getBody());
+            }
+        }
+        assertEquals(received.size(), 25);
+    }
+
+    @Test
+    public void testUnknownQueueIsRetried() {
+        SqsMessageBatcher batcher = new SqsMessageBatcher(sqsClient, 10);
+        assertThrows(RetryCallbackException.class, () -> batcher.sendMessage("unknown-queue-name", "{}"));
+    }
+}
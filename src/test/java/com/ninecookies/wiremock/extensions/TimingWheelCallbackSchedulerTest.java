@@ -0,0 +1,80 @@
+package com.ninecookies.wiremock.extensions;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TimingWheelCallbackSchedulerTest {
+
+    private ExecutorService workers;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        workers = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterMethod
+    public void afterMethod() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    public void testTasksRunAfterTheirDelay() throws InterruptedException {
+        // 1ms ticks make the lowest wheel span 512ms thus the longer delays are cascaded from higher wheels
+        long[] delays = { 0, 1, 5, 50, 300, 511, 512, 700, 1_300 };
+        Map<Long, Long> elapsed = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(delays.length);
+        try (TimingWheelCallbackScheduler scheduler = new TimingWheelCallbackScheduler(1, workers)) {
+            long start = System.nanoTime();
+            for (long delay : delays) {
+                scheduler.schedule(() -> {
+                    elapsed.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    latch.countDown();
+                }, delay);
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "missing tasks " + elapsed);
+            assertEquals(scheduler.pending(), 0);
+        }
+        for (long delay : delays) {
+            assertTrue(elapsed.get(delay) >= delay, "task " + delay + " ran after " + elapsed.get(delay));
+            assertTrue(elapsed.get(delay) < delay + 500, "task " + delay + " ran after " + elapsed.get(delay));
+        }
+    }
+
+    @Test
+    public void testManyTasksWithSameDeadline() throws InterruptedException {
+        int count = 10_000;
+        CountDownLatch latch = new CountDownLatch(count);
+        try (TimingWheelCallbackScheduler scheduler = new TimingWheelCallbackScheduler(10, workers)) {
+            for (int i = 0; i < count; i++) {
+                scheduler.schedule(latch::countDown, 100);
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testClosedSchedulerRejectsTasks() {
+        TimingWheelCallbackScheduler scheduler = new TimingWheelCallbackScheduler(10, workers);
+        scheduler.close();
+        assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> {}, 10));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheelCallbackScheduler(0, workers));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheelCallbackScheduler(10, null));
+    }
+}
@@ -0,0 +1,99 @@
+package com.ninecookies.wiremock.extensions.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.testng.annotations.Test;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.jayway.jsonpath.DocumentContext;
+
+public class JsonTemplateTest {
+
+    private static final DocumentContext SOURCE = Placeholders.documentContextOf(
+            "{\"id\":25,\"name\":\"john doe\",\"tags\":[\"a\",\"b\"]}");
+
+    @Test
+    public void testTemplateWithoutPlaceholders() {
+        String json = "{\"id\":\"static\"}";
+        JsonTemplate template = JsonTemplate.of(json);
+        assertFalse(template.hasPlaceholders());
+        assertSame(template.render(SOURCE), json);
+    }
+
+    @Test
+    public void testTemplateIsCached() {
+        String json = "{\"id\":\"$(id)\"}";
+        assertSame(JsonTemplate.of(json), JsonTemplate.of(new String(json)));
+    }
+
+    @Test
+    public void testQuotedAndEmbeddedSlots() {
+        JsonTemplate template = JsonTemplate.of(
+                "{\"id\":\"$(id)\",\"tags\":\"$(tags)\",\"text\":\"$(name) is $(id)\",\"missing\":\"$(unknown)\"}");
+        assertTrue(template.hasPlaceholders());
+        assertEquals(Json.node(template.render(SOURCE)), Json.node(
+                "{\"id\":25,\"tags\":[\"a\",\"b\"],\"text\":\"john doe is 25\",\"missing\":null}"));
+    }
+
+    @Test
+    public void testKeywordSlotsShareValuePerRendering() {
+        JsonTemplate template = JsonTemplate.of("{\"a\":\"$(!UUID)\",\"b\":\"$(!UUID)\"}");
+        String first = template.render(null);
+        String second = template.render(null);
+        assertEquals(Json.node(first).get("a").textValue(), Json.node(first).get("b").textValue());
+        assertFalse(first.equals(second));
+    }
+
+    @Test
+    public void testRenderWithoutPlaceholderSource() {
+        JsonTemplate template = JsonTemplate.of("{\"id\":\"$(id)\",\"text\":\"value $(id)\"}");
+        assertEquals(template.render(null), "{\"id\":null,\"text\":\"value null\"}");
+    }
+
+    @Test
+    public void testRenderBytes() {
+        byte[] json = "{\"id\":\"$(id)\",\"text\":\"gr\u00fc\u00dfe $(name)\"}".getBytes(StandardCharsets.UTF_8);
+        JsonTemplate template = JsonTemplate.of(json);
+        assertSame(JsonTemplate.of(json.clone()), template);
+        assertEquals(new String(template.renderBytes(SOURCE), StandardCharsets.UTF_8),
+                "{\"id\":25,\"text\":\"gr\u00fc\u00dfe john doe\"}");
+        assertEquals(template.renderBytes(SOURCE), template.renderBytes(SOURCE));
+    }
+
+    @Test
+    public void testRoots() {
+        assertTrue(JsonTemplate.of("{\"id\":\"$(!UUID)\"}").getRoots().isEmpty());
+        assertEquals(JsonTemplate.of("{\"id\":\"$(urlParts[1])\",\"name\":\"$(request.name)\"}").getRoots(),
+                new HashSet<>(Arrays.asList("urlParts", "request")));
+    }
+
+    @Test
+    public void testResolveAndRenderValues() {
+        JsonTemplate template = JsonTemplate.of("{\"id\":\"$(id)\",\"again\":\"$(id)\",\"name\":\"$(name)\"}");
+        assertEquals(template.getPlaceholderCount(), 2);
+        Object[] values = template.resolve(SOURCE);
+        assertEquals(values, new Object[] { 25, "john doe" });
+        assertEquals(new String(template.renderBytes(values), StandardCharsets.UTF_8),
+                "{\"id\":25,\"again\":25,\"name\":\"john doe\"}");
+        assertThrows(IllegalArgumentException.class, () -> template.renderBytes(new Object[1]));
+    }
+
+    @Test
+    public void testCacheStatistics() {
+        String json = "{\"id\":\"$(id)\",\"statistics\":true}";
+        long misses = JsonTemplate.getCacheMisses();
+        JsonTemplate.of(json);
+        assertEquals(JsonTemplate.getCacheMisses(), misses + 1);
+        long hits = JsonTemplate.getCacheHits();
+        JsonTemplate.of(json);
+        assertEquals(JsonTemplate.getCacheHits(), hits + 1);
+    }
+}
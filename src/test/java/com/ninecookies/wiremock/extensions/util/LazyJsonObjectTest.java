@@ -0,0 +1,63 @@
+package com.ninecookies.wiremock.extensions.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.testng.annotations.Test;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.jayway.jsonpath.DocumentContext;
+
+public class LazyJsonObjectTest {
+
+    @Test
+    public void testPropertiesAreParsedOnDemand() {
+        AtomicInteger parsed = new AtomicInteger();
+        Map<String, Supplier<?>> suppliers = new LinkedHashMap<>();
+        suppliers.put("request", () -> {
+            parsed.incrementAndGet();
+            return Placeholders.parseJson("{\"id\":\"request-id\"}");
+        });
+        suppliers.put("response", () -> {
+            throw new AssertionError("response must not be parsed");
+        });
+        suppliers.put("urlParts", () -> Placeholders.splitUrl("/some/path"));
+        LazyJsonObject lazyJson = LazyJsonObject.of(suppliers);
+        DocumentContext source = Placeholders.documentContextOf(lazyJson);
+
+        assertEquals(Placeholders.transformJson(source, "{\"id\":\"$(request.id)\",\"path\":\"$(urlParts[1])\","
+                + "\"again\":\"$(request.id)\",\"missing\":\"$(request.missing)\",\"unknown\":\"$(unknown)\"}"),
+                "{\"id\":\"request-id\",\"path\":\"path\",\"again\":\"request-id\",\"missing\":null,"
+                        + "\"unknown\":null}");
+        assertEquals(Placeholders.transformValue(source, "$(request.id)"), "request-id");
+        assertEquals(parsed.get(), 1);
+        assertTrue(lazyJson.isComputed("request"));
+        assertFalse(lazyJson.isComputed("response"));
+    }
+
+    @Test
+    public void testEntriesComputeAllProperties() {
+        Map<String, Supplier<?>> suppliers = new LinkedHashMap<>();
+        suppliers.put("request", () -> Placeholders.parseJson("{\"id\":1}"));
+        suppliers.put("response", () -> Placeholders.parseJson("[1,2]"));
+        LazyJsonObject lazyJson = LazyJsonObject.of(suppliers);
+        assertEquals(Json.node(Json.write(lazyJson)), Json.node("{\"request\":{\"id\":1},\"response\":[1,2]}"));
+        assertTrue(lazyJson.isComputed("response"));
+    }
+
+    @Test
+    public void testParseJson() {
+        assertNull(Placeholders.parseJson(null));
+        assertNull(Placeholders.parseJson(" "));
+        assertNull(Placeholders.parseJson("{\"unterminated\":"));
+        assertThrows(IllegalArgumentException.class, () -> LazyJsonObject.of(null));
+    }
+}
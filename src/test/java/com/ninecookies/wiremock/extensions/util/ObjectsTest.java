@@ -0,0 +1,34 @@
+package com.ninecookies.wiremock.extensions.util;
+
+import static com.ninecookies.wiremock.extensions.util.Objects.describeLazily;
+import static com.ninecookies.wiremock.extensions.util.Objects.lazy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.jayway.jsonpath.DocumentContext;
+
+public class ObjectsTest {
+
+    @Test
+    public void testLazyComputesOnToStringOnly() {
+        AtomicInteger computations = new AtomicInteger();
+        Object lazy = lazy(() -> "computed " + computations.incrementAndGet());
+        assertEquals(computations.get(), 0);
+        assertEquals(lazy.toString(), "computed 1");
+        assertEquals(lazy.toString(), "computed 2");
+        assertEquals(lazy(() -> null).toString(), "null");
+    }
+
+    @Test
+    public void testDescribeLazily() {
+        DocumentContext document = Placeholders.documentContextOf("{\"name\":\"john doe\"}");
+        Object description = describeLazily(document);
+        assertEquals(description.toString(), Objects.describe(document));
+        assertEquals(describeLazily((DocumentContext) null).toString(), "null");
+        assertNull(Objects.describe((DocumentContext) null));
+    }
+}
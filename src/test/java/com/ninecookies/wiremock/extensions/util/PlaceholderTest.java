@@ -3,9 +3,17 @@ package com.ninecookies.wiremock.extensions.util;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.testng.annotations.Test;
 
 import com.jayway.jsonpath.DocumentContext;
@@ -40,6 +48,7 @@ public class PlaceholderTest {
         assertNull(p.getValue(""));
         assertNull(p.getValue((String) null));
 
+        assertSame(Placeholder.of(pattern), p);
         assertThrows(IllegalArgumentException.class, () -> Placeholder.of(""));
         assertThrows(IllegalArgumentException.class, () -> Placeholder.of(null));
         assertThrows(IllegalArgumentException.class, () -> Placeholder.of("blubber bla"));
@@ -50,4 +59,38 @@ public class PlaceholderTest {
         assertFalse(Placeholder.containsPattern(""));
         assertFalse(Placeholder.containsPattern(null));
     }
+
+    @Test
+    public void testConcurrentlyInternedPlaceholders() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int run = 0; run < 50; run++) {
+                String pattern = "$(concurrent.run" + run + ")";
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Placeholder>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return Placeholder.of(pattern);
+                    }));
+                }
+                start.countDown();
+                Placeholder expected = Placeholder.of(pattern);
+                for (Future<Placeholder> result : results) {
+                    assertSame(result.get(), expected);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRoot() {
+        assertEquals(Placeholder.of("$(blubb)").getRoot(), "blubb");
+        assertEquals(Placeholder.of("$(request.id)").getRoot(), "request");
+        assertEquals(Placeholder.of("bla $(urlParts[1]) blubber").getRoot(), "urlParts");
+        assertNull(Placeholder.of("$(['request'].id)").getRoot());
+        assertNull(Placeholder.of("$(*.id)").getRoot());
+    }
 }
@@ -0,0 +1,80 @@
+package com.ninecookies.wiremock.extensions.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+public class SampledLoggerTest {
+
+    @Test
+    public void testEventsAreLimitedPerSecond() {
+        AtomicLong clock = new AtomicLong();
+        SampledLogger sampled = new SampledLogger(LoggerFactory.getLogger(SampledLoggerTest.class), 2, clock::get);
+        assertTrue(sampled.tryAcquire("event"));
+        assertTrue(sampled.tryAcquire("event"));
+        assertFalse(sampled.tryAcquire("event"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertFalse(sampled.tryAcquire("event"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(sampled.tryAcquire("event"));
+        assertTrue(sampled.tryAcquire("event"));
+        assertFalse(sampled.tryAcquire("event"));
+    }
+
+    @Test
+    public void testSuppressedEventsAreCounted() {
+        AtomicLong clock = new AtomicLong();
+        SampledLogger sampled = new SampledLogger(LoggerFactory.getLogger(SampledLoggerTest.class), 1, clock::get);
+        sampled.info("event {}", 1);
+        sampled.info("event {}", 2);
+        sampled.info("event {}", 3, new IllegalStateException("suppressed"));
+        assertEquals(sampled.getSuppressed("event {}"), 2);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sampled.info("event {}", 4, new IllegalStateException("logged with suppressed count"));
+        assertEquals(sampled.getSuppressed("event {}"), 0);
+    }
+
+    @Test
+    public void testEventTypesAreLimitedSeparately() {
+        AtomicLong clock = new AtomicLong();
+        SampledLogger sampled = new SampledLogger(LoggerFactory.getLogger(SampledLoggerTest.class), 2, clock::get);
+        for (int i = 0; i < 5; i++) {
+            sampled.info("message {} published", i);
+        }
+        assertEquals(sampled.getSuppressed("message {} published"), 3);
+        sampled.info("publishing of {} will be retried", "message", new IllegalStateException("retried"));
+        assertEquals(sampled.getSuppressed("publishing of {} will be retried"), 0);
+        assertTrue(sampled.tryAcquire("publishing of {} will be retried"));
+        assertFalse(sampled.tryAcquire("publishing of {} will be retried"));
+        assertFalse(sampled.tryAcquire("message {} published"));
+    }
+
+    @Test
+    public void testUnlimited() {
+        SampledLogger sampled = new SampledLogger(LoggerFactory.getLogger(SampledLoggerTest.class), 0, () -> 0L);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(sampled.tryAcquire("event"));
+        }
+    }
+
+    @Test
+    public void testPayload() {
+        assertEquals(SampledLogger.payload("{\"id\":1}", true), "{\"id\":1}");
+        assertEquals(SampledLogger.payload("{\"id\":1}", false).toString(), "<8 chars>");
+        assertEquals(SampledLogger.payload(new Object(), false), "<omitted>");
+        assertNull(SampledLogger.payload(null, false));
+    }
+
+    @Test
+    public void testOfRequiresLogger() {
+        assertThrows(IllegalArgumentException.class, () -> SampledLogger.of(null));
+    }
+}